@@ -0,0 +1,116 @@
+package Benchmark;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import HashMap.GTUStringArenaMap;
+import HashSet.GTUHashSet;
+
+/**
+ * The dictionary in a GTUHashSet on the default GTUHashMap, where every word is a String,
+ * and on a GTUStringArenaMap, where the words are UTF-8 bytes off-heap. For each: retained
+ * heap, off-heap arena size, the mean pause of a forced full collection while only that
+ * dictionary is live, and ns per contains() hit and miss. The "empty" line is the pause with
+ * no dictionary at all.
+ *
+ * Usage: java Benchmark.ArenaBenchmark [-dict dictionary.txt]
+ */
+public class ArenaBenchmark {
+
+    private static final int FULL_GCS = 10;
+    private static final int ROUNDS = 50;
+
+    public static void main(String[] args) throws IOException {
+        String path = BenchmarkOptions.parse(args).dictionaryPath;
+
+        // A sample of hits and misses, small enough not to disturb the collections.
+        String[] words = Words.load(path);
+        String[] hits = new String[Math.min(words.length, 10_000)];
+        String[] misses = new String[hits.length];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = words[(int) ((long) i * words.length / hits.length)];
+            misses[i] = hits[i] + 'q';
+        }
+        System.out.printf("%d words\n", words.length);
+        words = null;
+
+        long baseline = usedHeap();
+        report("empty", null, null, baseline, hits, misses);
+        report("hashset", load(path, null), null, baseline, hits, misses);
+        GTUStringArenaMap<Object> arena = new GTUStringArenaMap<>();
+        report("arena", load(path, arena), arena, baseline, hits, misses);
+    }
+
+    // The word array is dropped on return, so only what the set keeps stays reachable.
+    private static GTUHashSet<String> load(String path, GTUStringArenaMap<Object> arena) throws IOException {
+        String[] words = Words.load(path);
+        GTUHashSet<String> set;
+        if (arena != null) {
+            arena.ensureCapacity(words.length);
+            set = new GTUHashSet<>(arena);
+        } else {
+            set = new GTUHashSet<>(words.length);
+        }
+        for (String word : words) {
+            set.add(word);
+        }
+        return set;
+    }
+
+    private static void report(String name, GTUHashSet<String> set, GTUStringArenaMap<Object> arena, long baseline,
+                               String[] hits, String[] misses) {
+        double pause = meanFullGcMillis();
+        long retained = usedHeap() - baseline;
+
+        long hitNanos = 0;
+        long missNanos = 0;
+        long found = 0;
+        for (int round = 0; set != null && round < ROUNDS + 1; round++) {
+            long start = System.nanoTime();
+            for (String word : hits) {
+                if (set.contains(word)) found++;
+            }
+            long afterHits = System.nanoTime();
+            for (String miss : misses) {
+                if (set.contains(miss)) found++;
+            }
+            long afterMisses = System.nanoTime();
+
+            // The first round only warms up.
+            if (round > 0) {
+                hitNanos += afterHits - start;
+                missNanos += afterMisses - afterHits;
+            }
+        }
+
+        long offHeap = arena == null ? 0 : arena.getArenaCapacity();
+        System.out.printf("%-8s retained %7.2f MB heap, %5.2f MB off-heap, full GC %6.2f ms, hit %6.1f ns/op, miss %6.1f ns/op (%d found)\n",
+                name, Math.max(0, retained) / (1024.0 * 1024.0), offHeap / (1024.0 * 1024.0), pause,
+                (double) hitNanos / ROUNDS / hits.length, (double) missNanos / ROUNDS / misses.length, found);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Mean time the collectors report per forced full collection.
+    private static double meanFullGcMillis() {
+        long before = collectionMillis();
+        for (int i = 0; i < FULL_GCS; i++) {
+            System.gc();
+        }
+        return (double) (collectionMillis() - before) / FULL_GCS;
+    }
+
+    private static long collectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+        return total;
+    }
+}
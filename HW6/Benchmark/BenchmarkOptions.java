@@ -0,0 +1,77 @@
+package Benchmark;
+
+/**
+ * Command line options shared by every benchmark, so make bench can pass the same ARGS to
+ * all of them, e.g. {@code -dict words.txt -queries 50 -quick}. A benchmark reads the
+ * options it uses and ignores the others.
+ */
+public class BenchmarkOptions {
+
+    // Word list, one word per line as in dictionary.txt.
+    public String dictionaryPath = "dictionary.txt";
+    // Number of queries for the query benchmarks; 0 keeps each benchmark's own default.
+    public int queries;
+    // Shortest word the parallel benchmark misspells; 0 keeps its default.
+    public int minLength;
+    // Shorter and fewer iterations in the Harness benchmarks.
+    public boolean quick;
+    // Only run Harness benchmarks whose name contains this text.
+    public String filter = "";
+
+    public static BenchmarkOptions parse(String[] args) {
+        BenchmarkOptions options = new BenchmarkOptions();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-dict":
+                    options.dictionaryPath = value(args, ++i);
+                    break;
+                case "-queries":
+                    options.queries = positive(args, ++i);
+                    break;
+                case "-min-length":
+                    options.minLength = positive(args, ++i);
+                    break;
+                case "-quick":
+                    options.quick = true;
+                    break;
+                case "-filter":
+                    options.filter = value(args, ++i);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        return options;
+    }
+
+    // The -queries value, or fallback when it was not given.
+    public int queries(int fallback) {
+        return queries > 0 ? queries : fallback;
+    }
+
+    public int minLength(int fallback) {
+        return minLength > 0 ? minLength : fallback;
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    private static int positive(String[] args, int i) {
+        String text = value(args, i);
+        int value;
+        try {
+            value = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number for " + args[i - 1] + ": " + text);
+        }
+        if (value < 1) {
+            throw new IllegalArgumentException(args[i - 1] + " must be positive: " + text);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,63 @@
+package Benchmark;
+
+import java.io.IOException;
+import HashMap.CapacityPolicy;
+import HashMap.GTUHashMap;
+
+/**
+ * Reports ns/op of put, hit lookups and miss lookups on the dictionary words for
+ * every GTUHashMap capacity policy.
+ *
+ * Usage: java Benchmark.CapacityPolicyBenchmark [-dict dictionary.txt]
+ */
+public class CapacityPolicyBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        String[] words = Words.load(BenchmarkOptions.parse(args).dictionaryPath);
+        // Appending a digit guarantees a miss while keeping realistic key lengths.
+        String[] misses = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            misses[i] = words[i] + '0';
+        }
+        System.out.printf("%d words\n", words.length);
+
+        for (CapacityPolicy policy : CapacityPolicy.values()) {
+            long putNanos = 0;
+            long hitNanos = 0;
+            long missNanos = 0;
+            long found = 0;
+
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                boolean measured = round >= WARMUP_ROUNDS;
+                GTUHashMap<String, Integer> map = new GTUHashMap<>(policy);
+
+                long start = System.nanoTime();
+                for (int i = 0; i < words.length; i++) {
+                    map.put(words[i], i);
+                }
+                long afterPut = System.nanoTime();
+                for (String word : words) {
+                    if (map.containsKey(word)) found++;
+                }
+                long afterHits = System.nanoTime();
+                for (String miss : misses) {
+                    if (map.containsKey(miss)) found++;
+                }
+                long afterMisses = System.nanoTime();
+
+                if (measured) {
+                    putNanos += afterPut - start;
+                    hitNanos += afterHits - afterPut;
+                    missNanos += afterMisses - afterHits;
+                }
+            }
+
+            double ops = (double) words.length * MEASURED_ROUNDS;
+            System.out.printf("%-13s put %6.1f ns/op, hit %6.1f ns/op, miss %6.1f ns/op (%d found)\n",
+                    policy, putNanos / ops, hitNanos / ops, missNanos / ops, found);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package Benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import GTUList.GTUArrayList;
+import GTUList.GrowthPolicy;
+import HashMap.GTUHashMap;
+import HashSet.GTUHashSet;
+import SpellChecker.CandidateGenerator;
+import SpellChecker.Dictionary;
+import SpellChecker.HashSetDictionary;
+
+/**
+ * GTUHashMap, GTUHashSet and GTUArrayList measured next to java.util.HashMap, HashSet and
+ * ArrayList with the same keys, sizes, load factors and hit ratios, plus the suggestion
+ * path of SpellChecker on a GTUHashSet and on a java.util.HashSet dictionary. Every gtu
+ * line is followed by the matching jdk line.
+ *
+ * Usage: java Benchmark.CollectionsBenchmark [-quick] [-filter text] [-dict dictionary.txt]
+ */
+public class CollectionsBenchmark {
+
+    private static final int[] SIZES = {1_000, 100_000};
+    private static final float[] LOAD_FACTORS = {0.5f, 0.7f, 0.9f};
+    private static final int[] HIT_PERCENTS = {0, 50, 100};
+    private static final int QUERIES = 20;
+
+    public static void main(String[] args) throws IOException {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        Harness harness = new Harness(options);
+
+        for (int size : SIZES) {
+            String[] keys = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = "key" + i;
+            }
+            for (float loadFactor : LOAD_FACTORS) {
+                maps(harness, keys, loadFactor);
+            }
+            sets(harness, keys);
+            lists(harness, keys);
+        }
+        suggestions(harness, options.dictionaryPath);
+    }
+
+    // Lookup keys of which hitPercent percent are present, in random order.
+    private static String[] lookups(String[] keys, int hitPercent) {
+        Random random = new Random(hitPercent);
+        String[] lookups = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            lookups[i] = random.nextInt(100) < hitPercent ? keys[random.nextInt(keys.length)] : "miss" + i;
+        }
+        return lookups;
+    }
+
+    private static void maps(Harness harness, String[] keys, float loadFactor) {
+        int n = keys.length;
+        String suffix = String.format(" n=%d lf=%.1f", n, loadFactor);
+
+        harness.run("map.put gtu" + suffix, n, () -> new GTUHashMap<String, Integer>(16, loadFactor), map -> {
+            for (int i = 0; i < n; i++) map.put(keys[i], i);
+            return map.size();
+        });
+        harness.run("map.put jdk" + suffix, n, () -> new HashMap<String, Integer>(16, loadFactor), map -> {
+            for (int i = 0; i < n; i++) map.put(keys[i], i);
+            return map.size();
+        });
+
+        GTUHashMap<String, Integer> gtu = new GTUHashMap<>(16, loadFactor);
+        HashMap<String, Integer> jdk = new HashMap<>(16, loadFactor);
+        for (int i = 0; i < n; i++) {
+            gtu.put(keys[i], i);
+            jdk.put(keys[i], i);
+        }
+
+        for (int hitPercent : HIT_PERCENTS) {
+            String[] lookups = lookups(keys, hitPercent);
+            String name = String.format(" n=%d lf=%.1f hit=%d%%", n, loadFactor, hitPercent);
+            harness.run("map.get gtu" + name, n, ignored -> {
+                long found = 0;
+                for (String key : lookups) if (gtu.get(key) != null) found++;
+                return found;
+            });
+            harness.run("map.get jdk" + name, n, ignored -> {
+                long found = 0;
+                for (String key : lookups) if (jdk.get(key) != null) found++;
+                return found;
+            });
+        }
+
+        harness.run("map.remove gtu" + suffix, n, () -> {
+            GTUHashMap<String, Integer> map = new GTUHashMap<>(n, loadFactor);
+            for (int i = 0; i < n; i++) map.put(keys[i], i);
+            return map;
+        }, map -> {
+            for (String key : keys) map.remove(key);
+            return map.size();
+        });
+        harness.run("map.remove jdk" + suffix, n, () -> {
+            HashMap<String, Integer> map = new HashMap<>(n * 2, loadFactor);
+            for (int i = 0; i < n; i++) map.put(keys[i], i);
+            return map;
+        }, map -> {
+            for (String key : keys) map.remove(key);
+            return map.size();
+        });
+
+        harness.run("map.iterate gtu" + suffix, n, ignored -> {
+            long count = 0;
+            for (Iterator<String> it = gtu.getIterator(); it.hasNext(); it.next()) count++;
+            return count;
+        });
+        harness.run("map.iterate jdk" + suffix, n, ignored -> {
+            long count = 0;
+            for (Iterator<String> it = jdk.keySet().iterator(); it.hasNext(); it.next()) count++;
+            return count;
+        });
+    }
+
+    private static void sets(Harness harness, String[] keys) {
+        int n = keys.length;
+        String suffix = " n=" + n;
+
+        harness.run("set.add gtu" + suffix, n, () -> new GTUHashSet<String>(16), set -> {
+            for (String key : keys) set.add(key);
+            return set.size();
+        });
+        harness.run("set.add jdk" + suffix, n, () -> new HashSet<String>(16), set -> {
+            for (String key : keys) set.add(key);
+            return set.size();
+        });
+
+        GTUHashSet<String> gtu = new GTUHashSet<>(16);
+        HashSet<String> jdk = new HashSet<>(16);
+        for (String key : keys) {
+            gtu.add(key);
+            jdk.add(key);
+        }
+        String[] lookups = lookups(keys, 50);
+        harness.run("set.contains gtu" + suffix + " hit=50%", n, ignored -> {
+            long found = 0;
+            for (String key : lookups) if (gtu.contains(key)) found++;
+            return found;
+        });
+        harness.run("set.contains jdk" + suffix + " hit=50%", n, ignored -> {
+            long found = 0;
+            for (String key : lookups) if (jdk.contains(key)) found++;
+            return found;
+        });
+    }
+
+    private static void lists(Harness harness, String[] keys) {
+        int n = keys.length;
+        String suffix = " n=" + n;
+
+        harness.run("list.add gtu" + suffix, n, () -> new GTUArrayList<String>(), list -> {
+            for (String key : keys) list.add(key);
+            return list.size();
+        });
+        harness.run("list.add jdk" + suffix, n, () -> new ArrayList<String>(), list -> {
+            for (String key : keys) list.add(key);
+            return list.size();
+        });
+        for (GrowthPolicy policy : GrowthPolicy.values()) {
+            harness.run("list.add gtu-" + policy.name().toLowerCase() + suffix, n, () -> new GTUArrayList<String>(policy), list -> {
+                for (String key : keys) list.add(key);
+                return list.size();
+            });
+        }
+        harness.run("list.add gtu-presized" + suffix, n, () -> {
+            GTUArrayList<String> list = new GTUArrayList<>();
+            list.ensureCapacity(n);
+            return list;
+        }, list -> {
+            for (String key : keys) list.add(key);
+            return list.size();
+        });
+        for (GrowthPolicy policy : GrowthPolicy.values()) {
+            GTUArrayList<String> list = new GTUArrayList<>(policy);
+            for (String key : keys) list.add(key);
+            System.out.printf("list.grow %s n=%d: %d resizes, %d elements copied, %d wasted slots\n",
+                    policy.name().toLowerCase(), n, list.getResizeCount(), list.getCopiedElements(), list.getWastedSlots());
+        }
+
+        GTUArrayList<String> gtu = new GTUArrayList<>();
+        ArrayList<String> jdk = new ArrayList<>();
+        for (String key : keys) {
+            gtu.add(key);
+            jdk.add(key);
+        }
+        harness.run("list.get gtu" + suffix, n, ignored -> {
+            long length = 0;
+            for (int i = 0; i < n; i++) length += gtu.get(i).length();
+            return length;
+        });
+        harness.run("list.get jdk" + suffix, n, ignored -> {
+            long length = 0;
+            for (int i = 0; i < n; i++) length += jdk.get(i).length();
+            return length;
+        });
+        harness.run("list.iterate gtu" + suffix, n, ignored -> {
+            long length = 0;
+            for (String key : gtu) length += key.length();
+            return length;
+        });
+        harness.run("list.iterate jdk" + suffix, n, ignored -> {
+            long length = 0;
+            for (String key : jdk) length += key.length();
+            return length;
+        });
+
+        // A fixed number of lookups, so the linear scans stay affordable at large n.
+        GTUArrayList<String> indexed = new GTUArrayList<>(true);
+        indexed.addAll(gtu);
+        String[] lookups = lookups(keys, 50);
+        int queries = Math.min(n, 1_000);
+        harness.run("list.contains gtu" + suffix + " hit=50%", queries, ignored -> {
+            long found = 0;
+            for (int i = 0; i < queries; i++) if (gtu.contains(lookups[i])) found++;
+            return found;
+        });
+        harness.run("list.contains gtu-indexed" + suffix + " hit=50%", queries, ignored -> {
+            long found = 0;
+            for (int i = 0; i < queries; i++) if (indexed.contains(lookups[i])) found++;
+            return found;
+        });
+        harness.run("list.contains jdk" + suffix + " hit=50%", queries, ignored -> {
+            long found = 0;
+            for (int i = 0; i < queries; i++) if (jdk.contains(lookups[i])) found++;
+            return found;
+        });
+    }
+
+    // The buffer engine's distance-2 search over the dictionary, on both set implementations.
+    private static void suggestions(Harness harness, String path) throws IOException {
+        if (!new File(path).isFile()) {
+            System.out.println(path + " not found, skipping the suggestion benchmarks.");
+            return;
+        }
+        String[] words = Words.load(path);
+        GTUHashSet<String> gtuWords = new GTUHashSet<>(words.length);
+        HashSet<String> jdkWords = new HashSet<>(words.length * 2);
+        for (String word : words) {
+            gtuWords.add(word);
+            jdkWords.add(word);
+        }
+        String[] queries = EngineBenchmark.misspell(words, gtuWords, QUERIES, new Random(42));
+
+        CandidateGenerator gtu = new CandidateGenerator(new HashSetDictionary(gtuWords));
+        CandidateGenerator jdk = new CandidateGenerator(new JdkDictionary(jdkWords));
+        harness.run("suggest gtu d=2", QUERIES, ignored -> {
+            long found = 0;
+            for (String query : queries) {
+                GTUHashSet<String> seen = new GTUHashSet<>(64);
+                gtu.collect(query, 2, seen);
+                found += seen.size();
+            }
+            return found;
+        });
+        harness.run("suggest jdk d=2", QUERIES, ignored -> {
+            long found = 0;
+            for (String query : queries) {
+                GTUHashSet<String> seen = new GTUHashSet<>(64);
+                jdk.collect(query, 2, seen);
+                found += seen.size();
+            }
+            return found;
+        });
+    }
+
+    // Dictionary over java.util.HashSet; buffer lookups have to build a String.
+    private static final class JdkDictionary implements Dictionary {
+        private final HashSet<String> words;
+
+        JdkDictionary(HashSet<String> words) {
+            this.words = words;
+        }
+
+        @Override
+        public boolean contains(String word) {
+            return words.contains(word);
+        }
+
+        @Override
+        public int size() {
+            return words.size();
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return words.iterator();
+        }
+
+        @Override
+        public void printStats() {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package Benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import HashSet.GTUHashSet;
+import SpellChecker.CandidateGenerator;
+import SpellChecker.Dictionary;
+import SpellChecker.HashSetDictionary;
+import SpellChecker.SuggestionEngine;
+import SpellChecker.TrieDictionary;
+
+/**
+ * Compares the GTUHashSet dictionary with the DAWG-backed TrieDictionary: retained heap
+ * after loading the word list, ns per contains() hit and miss, and us per suggestion query
+ * (candidate generation against the hash set, the Levenshtein walk on the DAWG).
+ *
+ * Usage: java Benchmark.DictionaryBenchmark [-dict dictionary.txt] [-queries n]
+ */
+public class DictionaryBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final int MAX_DISTANCE = 2;
+
+    public static void main(String[] args) throws IOException {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        String path = options.dictionaryPath;
+        int queryCount = options.queries(100);
+
+        // Measured first, while the heap holds nothing else: the word array is dropped after
+        // loading, so only what the dictionary itself keeps stays reachable.
+        long baseline = usedHeap();
+        Dictionary hashSet = loadHashSet(path);
+        long hashSetBytes = usedHeap() - baseline;
+        Dictionary trie = new TrieDictionary(hashSet);
+        long trieBytes = usedHeap() - baseline - hashSetBytes;
+
+        String[] words = Words.load(path);
+        String[] misses = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            misses[i] = words[i] + 'q';
+        }
+        String[] queries = EngineBenchmark.misspell(words, ((HashSetDictionary) hashSet).getWords(), queryCount, new Random(42));
+        System.out.printf("%d words, %d queries\n", words.length, queries.length);
+
+        report("hashset", hashSet, hashSetBytes, new CandidateGenerator(hashSet), words, misses, queries);
+        report("trie", trie, trieBytes, (TrieDictionary) trie, words, misses, queries);
+    }
+
+    private static Dictionary loadHashSet(String path) throws IOException {
+        String[] words = Words.load(path);
+        GTUHashSet<String> set = new GTUHashSet<>(words.length);
+        for (String word : words) {
+            set.add(word);
+        }
+        return new HashSetDictionary(set);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void report(String name, Dictionary dictionary, long bytes, SuggestionEngine engine,
+                               String[] words, String[] misses, String[] queries) {
+        long hitNanos = 0;
+        long missNanos = 0;
+        long queryNanos = 0;
+        long found = 0;
+
+        for (int round = 0; round < ROUNDS + 1; round++) {
+            long start = System.nanoTime();
+            for (String word : words) {
+                if (dictionary.contains(word)) found++;
+            }
+            long afterHits = System.nanoTime();
+            for (String miss : misses) {
+                if (dictionary.contains(miss)) found++;
+            }
+            long afterMisses = System.nanoTime();
+            for (String query : queries) {
+                engine.collect(query, MAX_DISTANCE, new GTUHashSet<>(64));
+            }
+            long afterQueries = System.nanoTime();
+
+            // The first round only warms up.
+            if (round > 0) {
+                hitNanos += afterHits - start;
+                missNanos += afterMisses - afterHits;
+                queryNanos += afterQueries - afterMisses;
+            }
+        }
+
+        System.out.printf("%-8s retained %7.2f MB, hit %6.1f ns/op, miss %6.1f ns/op, suggest %9.1f us/query (%d found)\n",
+                name, bytes / (1024.0 * 1024.0), (double) hitNanos / ROUNDS / words.length,
+                (double) missNanos / ROUNDS / misses.length, queryNanos / 1e3 / ROUNDS / queries.length, found);
+    }
+}
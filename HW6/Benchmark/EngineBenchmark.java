@@ -0,0 +1,119 @@
+package Benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import HashSet.GTUHashSet;
+import SpellChecker.BKTree;
+import SpellChecker.CandidateGenerator;
+import SpellChecker.HashSetDictionary;
+import SpellChecker.LatencyHistogram;
+import SpellChecker.LegacyGenerator;
+import SpellChecker.SuggestionEngine;
+import SpellChecker.SymSpellIndex;
+import SpellChecker.TrieDictionary;
+
+/**
+ * Runs the same misspelled queries through every suggestion engine and reports build time,
+ * latency, probes and suggestions per query. Queries are dictionary words with one or two
+ * random edits (deletion, insertion, substitution or transposition) that are not words.
+ *
+ * Usage: java Benchmark.EngineBenchmark [-dict dictionary.txt] [-queries n]
+ */
+public class EngineBenchmark {
+
+    private static final int MAX_DISTANCE = 2;
+    private static final int WARMUP_QUERIES = 20;
+
+    public static void main(String[] args) throws IOException {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        String[] words = Words.load(options.dictionaryPath);
+        int queryCount = options.queries(200);
+
+        GTUHashSet<String> set = new GTUHashSet<>(words.length);
+        for (String word : words) {
+            set.add(word);
+        }
+        HashSetDictionary dictionary = new HashSetDictionary(set);
+        String[] queries = misspell(words, set, queryCount, new Random(42));
+        System.out.printf("%d words, %d queries, max distance %d\n", words.length, queries.length, MAX_DISTANCE);
+
+        String[] names = {"buffer", "legacy", "symspell", "bktree", "trie"};
+        for (String name : names) {
+            long buildStart = System.nanoTime();
+            SuggestionEngine engine = create(name, dictionary);
+            long buildNanos = System.nanoTime() - buildStart;
+
+            for (int i = 0; i < Math.min(WARMUP_QUERIES, queries.length); i++) {
+                engine.collect(queries[i], MAX_DISTANCE, new GTUHashSet<>(64));
+            }
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            long probesBefore = engine.getProbeCount();
+            long suggestions = 0;
+            long start = System.nanoTime();
+            for (String query : queries) {
+                GTUHashSet<String> found = new GTUHashSet<>(64);
+                long queryStart = System.nanoTime();
+                engine.collect(query, MAX_DISTANCE, found);
+                latencies.record(System.nanoTime() - queryStart);
+                suggestions += found.size();
+            }
+            long nanos = System.nanoTime() - start;
+
+            System.out.printf("%-9s build %8.1f ms, %9.1f us/query (p99 <= %8.1f us), %10.1f probes/query, %5.1f suggestions/query\n",
+                    name, buildNanos / 1e6, nanos / 1e3 / queries.length, latencies.getPercentile(99) / 1e3,
+                    (double) (engine.getProbeCount() - probesBefore) / queries.length,
+                    (double) suggestions / queries.length);
+        }
+    }
+
+    private static SuggestionEngine create(String name, HashSetDictionary dictionary) {
+        switch (name) {
+            case "legacy":
+                return new LegacyGenerator(dictionary);
+            case "symspell":
+                return new SymSpellIndex(dictionary, MAX_DISTANCE);
+            case "bktree":
+                return new BKTree(dictionary);
+            case "trie":
+                return new TrieDictionary(dictionary);
+            default:
+                return new CandidateGenerator(dictionary);
+        }
+    }
+
+    static String[] misspell(String[] words, GTUHashSet<String> dictionary, int count, Random random) {
+        String[] queries = new String[count];
+        int made = 0;
+        while (made < count) {
+            StringBuilder word = new StringBuilder(words[random.nextInt(words.length)]);
+            int edits = 1 + random.nextInt(MAX_DISTANCE);
+            for (int e = 0; e < edits && word.length() > 2; e++) {
+                int i = random.nextInt(word.length());
+                char c = (char) ('a' + random.nextInt(26));
+                switch (random.nextInt(4)) {
+                    case 0:
+                        word.deleteCharAt(i);
+                        break;
+                    case 1:
+                        word.insert(i, c);
+                        break;
+                    case 2:
+                        word.setCharAt(i, c);
+                        break;
+                    default:
+                        if (i + 1 < word.length()) {
+                            char swap = word.charAt(i);
+                            word.setCharAt(i, word.charAt(i + 1));
+                            word.setCharAt(i + 1, swap);
+                        }
+                }
+            }
+            String query = word.toString();
+            if (!dictionary.contains(query)) {
+                queries[made++] = query;
+            }
+        }
+        return queries;
+    }
+}
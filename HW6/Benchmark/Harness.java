@@ -0,0 +1,78 @@
+package Benchmark;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small stand-in for JMH: warmup and measurement iterations of fixed length, a result sink
+ * so the JIT cannot drop the measured work, and mean +- standard deviation in ns/op over
+ * the measured iterations.
+ *
+ * Reads -quick (shorter and fewer iterations) and -filter text (only benchmarks whose name
+ * contains text) from the BenchmarkOptions.
+ */
+public class Harness {
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    private final long iterationNanos;
+    private final String filter;
+
+    // Every invocation's result is folded in here, so the measured code has a visible effect.
+    private volatile long sink;
+
+    public Harness(BenchmarkOptions options) {
+        warmupIterations = options.quick ? 1 : 3;
+        measuredIterations = options.quick ? 3 : 5;
+        iterationNanos = options.quick ? 100_000_000L : 300_000_000L;
+        filter = options.filter;
+    }
+
+    // Measures body on shared state; every invocation performs opsPerInvocation operations.
+    public void run(String name, long opsPerInvocation, ToLongFunction<Void> body) {
+        run(name, opsPerInvocation, () -> null, body);
+    }
+
+    /**
+     * Measures body on fresh state from setup, which is called before every invocation and
+     * is not timed; use it for benchmarks that change their state, such as put or remove.
+     */
+    public <S> void run(String name, long opsPerInvocation, Supplier<S> setup, ToLongFunction<S> body) {
+        if (!name.contains(filter)) return;
+
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(opsPerInvocation, setup, body);
+        }
+
+        double[] results = new double[measuredIterations];
+        double mean = 0;
+        for (int i = 0; i < measuredIterations; i++) {
+            results[i] = iteration(opsPerInvocation, setup, body);
+            mean += results[i];
+        }
+        mean /= measuredIterations;
+
+        double variance = 0;
+        for (double result : results) {
+            variance += (result - mean) * (result - mean);
+        }
+        double deviation = measuredIterations > 1 ? Math.sqrt(variance / (measuredIterations - 1)) : 0;
+        System.out.printf("%-52s %12.2f +- %9.2f ns/op\n", name, mean, deviation);
+    }
+
+    // One iteration: invocations until iterationNanos of measured time; returns ns/op.
+    private <S> double iteration(long opsPerInvocation, Supplier<S> setup, ToLongFunction<S> body) {
+        long measured = 0;
+        long invocations = 0;
+        long result = 0;
+        while (measured < iterationNanos) {
+            S state = setup.get();
+            long start = System.nanoTime();
+            result += body.applyAsLong(state);
+            measured += System.nanoTime() - start;
+            invocations++;
+        }
+        sink += result;
+        return (double) measured / (invocations * opsPerInvocation);
+    }
+}
@@ -0,0 +1,107 @@
+package Benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import HashSet.GTUHashSet;
+import SpellChecker.CandidateGenerator;
+import SpellChecker.HashSetDictionary;
+import SpellChecker.ParallelCandidateGenerator;
+
+/**
+ * Misspells long dictionary words and expands them to distance 2 with the sequential
+ * CandidateGenerator and with ParallelCandidateGenerator on 1, 2, 4 and 8 threads.
+ * Prints ms/query and the speedup over the sequential run, and fails if any thread
+ * count finds different suggestions. Thread counts above the number of cores are marked:
+ * their speedup is not a parallel one.
+ *
+ * Usage: java Benchmark.ParallelBenchmark [-dict dictionary.txt] [-queries n] [-min-length n]
+ */
+public class ParallelBenchmark {
+
+    private static final int MAX_DISTANCE = 2;
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws IOException {
+        BenchmarkOptions options = BenchmarkOptions.parse(args);
+        String[] words = Words.load(options.dictionaryPath);
+        int queryCount = options.queries(50);
+        int minLength = options.minLength(10);
+
+        GTUHashSet<String> set = new GTUHashSet<>(words.length);
+        int longWords = 0;
+        for (String word : words) {
+            set.add(word);
+            if (word.length() >= minLength) longWords++;
+        }
+        String[] candidates = new String[longWords];
+        longWords = 0;
+        for (String word : words) {
+            if (word.length() >= minLength) candidates[longWords++] = word;
+        }
+        if (candidates.length == 0) {
+            System.out.printf("No words of %d or more letters.\n", minLength);
+            return;
+        }
+
+        // The parallel workers share the set, so its lookup counters must be off.
+        set.setStatsEnabled(false);
+        HashSetDictionary dictionary = new HashSetDictionary(set);
+        String[] queries = EngineBenchmark.misspell(candidates, set, queryCount, new Random(7));
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d words, %d queries of %d+ letters, %d cores\n", words.length, queries.length,
+                minLength, cores);
+
+        CandidateGenerator sequential = new CandidateGenerator(dictionary);
+        GTUHashSet<String>[] expected = run(sequential::collect, queries);
+        double sequentialNanos = time(sequential::collect, queries);
+        System.out.printf("sequential  %8.2f ms/query\n", sequentialNanos / 1e6 / queries.length);
+
+        for (int threads : THREADS) {
+            ParallelCandidateGenerator parallel = new ParallelCandidateGenerator(dictionary, threads, 0);
+            GTUHashSet<String>[] found = run(parallel::collect, queries);
+            for (int i = 0; i < queries.length; i++) {
+                if (!sameElements(expected[i], found[i])) {
+                    throw new IllegalStateException(threads + " threads disagree on " + queries[i]);
+                }
+            }
+            double nanos = time(parallel::collect, queries);
+            parallel.close();
+            // Beyond the core count the threads only take turns, so any difference is noise.
+            System.out.printf("%d thread%s   %8.2f ms/query, speedup %.2fx%s\n", threads, threads == 1 ? " " : "s",
+                    nanos / 1e6 / queries.length, sequentialNanos / nanos, threads > cores ? " (more threads than cores)" : "");
+        }
+    }
+
+    private interface Engine {
+        void collect(String word, int maxDistance, GTUHashSet<String> found);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GTUHashSet<String>[] run(Engine engine, String[] queries) {
+        GTUHashSet<String>[] results = (GTUHashSet<String>[]) new GTUHashSet<?>[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            results[i] = new GTUHashSet<>(64);
+            engine.collect(queries[i], MAX_DISTANCE, results[i]);
+        }
+        return results;
+    }
+
+    // Best of three passes over all queries, in ns.
+    private static double time(Engine engine, String[] queries) {
+        long best = Long.MAX_VALUE;
+        for (int pass = 0; pass < 3; pass++) {
+            long start = System.nanoTime();
+            run(engine, queries);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static boolean sameElements(GTUHashSet<String> a, GTUHashSet<String> b) {
+        if (a.size() != b.size()) return false;
+        for (String word : a) {
+            if (!b.contains(word)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+package Benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import GTUList.GTUArrayList;
+import GTUList.GTUDoubleArrayList;
+import GTUList.GTUIntArrayList;
+
+/**
+ * GTUIntArrayList and GTUDoubleArrayList next to a boxed GTUArrayList holding the same
+ * values: bytes allocated while filling each list, then add, get, iterate and sort
+ * throughput. Values are spread out so Integer.valueOf() cannot return cached boxes.
+ *
+ * Usage: java Benchmark.PrimitiveListBenchmark [-quick] [-filter text]
+ */
+public class PrimitiveListBenchmark {
+
+    private static final int[] SIZES = {1_000, 1_000_000};
+
+    public static void main(String[] args) {
+        Harness harness = new Harness(BenchmarkOptions.parse(args));
+
+        for (int n : SIZES) {
+            Random random = new Random(n);
+            int[] ints = new int[n];
+            double[] doubles = new double[n];
+            for (int i = 0; i < n; i++) {
+                ints[i] = random.nextInt();
+                doubles[i] = random.nextDouble();
+            }
+
+            allocation(n, ints, doubles);
+            ints(harness, ints);
+            doubles(harness, doubles);
+        }
+    }
+
+    private static void allocation(int n, int[] ints, double[] doubles) {
+        long before = allocatedBytes();
+        GTUArrayList<Integer> boxedInts = new GTUArrayList<>();
+        for (int value : ints) boxedInts.add(value);
+        long boxedIntBytes = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        GTUIntArrayList primitiveInts = new GTUIntArrayList();
+        for (int value : ints) primitiveInts.add(value);
+        long intBytes = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        GTUArrayList<Double> boxedDoubles = new GTUArrayList<>();
+        for (double value : doubles) boxedDoubles.add(value);
+        long boxedDoubleBytes = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        GTUDoubleArrayList primitiveDoubles = new GTUDoubleArrayList();
+        for (double value : doubles) primitiveDoubles.add(value);
+        long doubleBytes = allocatedBytes() - before;
+
+        if (before < 0) return;
+        System.out.printf("alloc n=%d: boxed int %.1f B/elem, int %.1f B/elem, boxed double %.1f B/elem, double %.1f B/elem\n",
+                n, (double) boxedIntBytes / n, (double) intBytes / n,
+                (double) boxedDoubleBytes / n, (double) doubleBytes / n);
+        // Keeps the lists reachable until every measurement is taken.
+        if (boxedInts.size() + primitiveInts.size() + boxedDoubles.size() + primitiveDoubles.size() != 4 * n) {
+            throw new IllegalStateException("Lists lost elements");
+        }
+    }
+
+    private static void ints(Harness harness, int[] values) {
+        int n = values.length;
+        String suffix = " n=" + n;
+
+        harness.run("int.add boxed" + suffix, n, () -> new GTUArrayList<Integer>(), list -> {
+            for (int value : values) list.add(value);
+            return list.size();
+        });
+        harness.run("int.add primitive" + suffix, n, () -> new GTUIntArrayList(), list -> {
+            for (int value : values) list.add(value);
+            return list.size();
+        });
+        harness.run("int.addAll primitive" + suffix, n, () -> new GTUIntArrayList(), list -> {
+            list.addAll(values);
+            return list.size();
+        });
+
+        GTUArrayList<Integer> boxed = new GTUArrayList<>();
+        GTUIntArrayList primitive = new GTUIntArrayList();
+        for (int value : values) {
+            boxed.add(value);
+            primitive.add(value);
+        }
+        harness.run("int.get boxed" + suffix, n, ignored -> {
+            long sum = 0;
+            for (int i = 0; i < n; i++) sum += boxed.get(i);
+            return sum;
+        });
+        harness.run("int.get primitive" + suffix, n, ignored -> {
+            long sum = 0;
+            for (int i = 0; i < n; i++) sum += primitive.get(i);
+            return sum;
+        });
+        harness.run("int.iterate boxed" + suffix, n, ignored -> {
+            long sum = 0;
+            for (Integer value : boxed) sum += value;
+            return sum;
+        });
+        harness.run("int.iterate primitive" + suffix, n, ignored -> {
+            long sum = 0;
+            for (GTUIntArrayList.MyIterator it = primitive.iterator(); it.hasNext(); ) sum += it.nextInt();
+            return sum;
+        });
+        harness.run("int.sort primitive" + suffix, n, () -> {
+            GTUIntArrayList list = new GTUIntArrayList(n);
+            list.addAll(values);
+            return list;
+        }, list -> {
+            list.sort();
+            return list.get(0);
+        });
+    }
+
+    private static void doubles(Harness harness, double[] values) {
+        int n = values.length;
+        String suffix = " n=" + n;
+
+        harness.run("double.add boxed" + suffix, n, () -> new GTUArrayList<Double>(), list -> {
+            for (double value : values) list.add(value);
+            return list.size();
+        });
+        harness.run("double.add primitive" + suffix, n, () -> new GTUDoubleArrayList(), list -> {
+            for (double value : values) list.add(value);
+            return list.size();
+        });
+
+        GTUArrayList<Double> boxed = new GTUArrayList<>();
+        GTUDoubleArrayList primitive = new GTUDoubleArrayList();
+        for (double value : values) {
+            boxed.add(value);
+            primitive.add(value);
+        }
+        harness.run("double.iterate boxed" + suffix, n, ignored -> {
+            double sum = 0;
+            for (Double value : boxed) sum += value;
+            return (long) sum;
+        });
+        harness.run("double.iterate primitive" + suffix, n, ignored -> {
+            double sum = 0;
+            for (GTUDoubleArrayList.MyIterator it = primitive.iterator(); it.hasNext(); ) sum += it.nextDouble();
+            return (long) sum;
+        });
+    }
+
+    // Bytes allocated by this thread so far, or -1 when the JVM cannot tell.
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,42 @@
+package Benchmark;
+
+import java.io.IOException;
+import HashMap.GTUHashMap;
+import SpellChecker.LatencyHistogram;
+
+/**
+ * Inserts the dictionary into GTUHashMap with stop-the-world and with incremental
+ * rehashing and prints the per-put latency histogram of both runs.
+ *
+ * Usage: java Benchmark.RehashBenchmark [-dict dictionary.txt]
+ */
+public class RehashBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        String[] words = Words.load(BenchmarkOptions.parse(args).dictionaryPath);
+        System.out.printf("%d words\n", words.length);
+
+        for (boolean incremental : new boolean[] { false, true }) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            long elapsed = 0;
+
+            // The first rounds only warm up the JIT; the last one is recorded.
+            for (int round = 0; round < ROUNDS; round++) {
+                boolean measured = round == ROUNDS - 1;
+                GTUHashMap<String, Integer> map = new GTUHashMap<>(incremental);
+                long start = System.nanoTime();
+                for (int i = 0; i < words.length; i++) {
+                    long before = System.nanoTime();
+                    map.put(words[i], i);
+                    if (measured) histogram.record(System.nanoTime() - before);
+                }
+                elapsed = System.nanoTime() - start;
+            }
+
+            System.out.printf("Total load time: %.2f ms\n", elapsed / 1e6);
+            histogram.print(incremental ? "put (incremental rehash)" : "put (stop-the-world rehash)");
+        }
+    }
+}
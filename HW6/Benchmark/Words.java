@@ -0,0 +1,40 @@
+package Benchmark;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * Reads a word list (one word per line, as in dictionary.txt) into an array.
+ */
+public class Words {
+
+    public static String[] load(String path) throws IOException {
+        String[] words = new String[1024];
+        int count = 0;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                if (word.isEmpty()) continue;
+                // Drop the optional frequency column.
+                int space = 0;
+                while (space < word.length() && !Character.isWhitespace(word.charAt(space))) {
+                    space++;
+                }
+                word = word.substring(0, space);
+                if (count == words.length) {
+                    String[] grown = new String[count * 2];
+                    System.arraycopy(words, 0, grown, 0, count);
+                    words = grown;
+                }
+                words[count++] = word;
+            }
+        }
+
+        String[] result = new String[count];
+        System.arraycopy(words, 0, result, 0, count);
+        return result;
+    }
+}
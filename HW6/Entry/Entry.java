@@ -1,16 +0,0 @@
-package Entry;
-
-public class Entry<K,V>{
-    public K key;
-    public V value;
-    public boolean isDeleted;
-
-    public Entry(K key, V value){
-        this.key = key;
-        this.value = value;
-        this.isDeleted = false;
-    }
-
-
-    
-}
\ No newline at end of file
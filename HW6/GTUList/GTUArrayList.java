@@ -1,6 +1,10 @@
 package GTUList;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.function.Predicate;
+
+import HashMap.GTUHashMap;
 
 public class GTUArrayList<E extends Comparable<E>> implements Iterable<E> {
 
@@ -9,48 +13,279 @@ public class GTUArrayList<E extends Comparable<E>> implements Iterable<E> {
     private static final int INITIAL_CAPACITY = 10;
     private int capacity;
 
-    @SuppressWarnings("unchecked")
+    // CHUNKED lists keep element i at chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK] and leave data null.
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private E[][] chunks;
+
+    private final GrowthPolicy policy;
+    private long copiedElements;
+    private int resizeCount;
+
+    // Where an element first occurs and how often; kept per element by an indexed list.
+    private static final class Occurrences {
+        int first;
+        int count;
+
+        Occurrences(int first) {
+            this.first = first;
+            this.count = 1;
+        }
+    }
+
+    // Element -> Occurrences, or null when the list is not indexed.
+    private GTUHashMap<E, Occurrences> index;
+
     public GTUArrayList() {
-        data = (E[]) new Comparable[INITIAL_CAPACITY]; 
+        this(GrowthPolicy.DOUBLING, false);
+    }
+
+    public GTUArrayList(boolean indexed) {
+        this(GrowthPolicy.DOUBLING, indexed);
+    }
+
+    public GTUArrayList(GrowthPolicy policy) {
+        this(policy, false);
+    }
+
+    /**
+     * An indexed list also keeps a GTUHashMap from every element to its first position and
+     * count, which makes contains() and indexOf() O(1) for the price of one map entry per
+     * distinct element.
+     */
+    @SuppressWarnings("unchecked")
+    public GTUArrayList(GrowthPolicy policy, boolean indexed) {
+        this.policy = policy;
+        if (policy == GrowthPolicy.CHUNKED) {
+            // The first chunk is allocated by the first add.
+            chunks = (E[][]) new Comparable[INITIAL_CAPACITY][];
+            capacity = 0;
+        } else {
+            data = (E[]) new Comparable[INITIAL_CAPACITY]; 
+            capacity = INITIAL_CAPACITY;
+        }
         size = 0;
-        capacity = INITIAL_CAPACITY;
+        if (indexed) index = new GTUHashMap<>(INITIAL_CAPACITY);
+    }
+
+    public GrowthPolicy getGrowthPolicy() {
+        return policy;
+    }
+
+    public boolean isIndexed() {
+        return index != null;
     }
 
     public void add(E element) {
         if (size == capacity) {
-            resize();
+            resize(size + 1);
+        }
+        if (index != null) addToIndex(element, size);
+        set(size++, element);
+    }
+
+    private E at(int i) {
+        return chunks != null ? chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK] : data[i];
+    }
+
+    private void set(int i, E element) {
+        if (chunks != null) {
+            chunks[i >>> CHUNK_SHIFT][i & CHUNK_MASK] = element;
+        } else {
+            data[i] = element;
+        }
+    }
+
+    private void addToIndex(E element, int position) {
+        if (element == null) return;
+
+        Occurrences occurrences = index.get(element);
+        if (occurrences == null) {
+            index.put(element, new Occurrences(position));
+        } else {
+            occurrences.count++;
         }
-        data[size++] = element; 
+    }
+
+    // Appends every element of other, growing at most once.
+    public void addAll(GTUArrayList<? extends E> other) {
+        int count = other.size;
+        if (size + count > capacity) {
+            resize(size + count);
+        }
+        if (chunks == null && other.chunks == null) {
+            System.arraycopy(other.data, 0, data, size, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                set(size + i, other.at(i));
+            }
+        }
+        if (index != null) {
+            for (int i = 0; i < count; i++) {
+                addToIndex(at(size + i), size + i);
+            }
+        }
+        size += count;
     }
 
     public boolean contains(E element) {
-        if (element == null) return false;
+        return indexOf(element) >= 0;
+    }
+
+    // Position of the first occurrence of element, or -1.
+    public int indexOf(E element) {
+        if (element == null) return -1;
 
+        if (index != null) {
+            Occurrences occurrences = index.get(element);
+            return occurrences == null ? -1 : occurrences.first;
+        }
         for (int i = 0; i < size; i++) {
-            if (element.equals(data[i])) {
-                return true;
+            if (element.equals(at(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes every element matching filter in one pass that slides the kept elements down,
+     * rebuilding the index on the way. Returns whether anything was removed.
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        GTUHashMap<E, Occurrences> rebuilt = index == null ? null : new GTUHashMap<>(Math.max(INITIAL_CAPACITY, index.size()));
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            E element = at(i);
+            if (filter.test(element)) continue;
+
+            set(kept, element);
+            if (rebuilt != null && element != null) {
+                Occurrences occurrences = rebuilt.get(element);
+                if (occurrences == null) {
+                    rebuilt.put(element, new Occurrences(kept));
+                } else {
+                    occurrences.count++;
+                }
             }
+            kept++;
+        }
+
+        boolean removed = kept < size;
+        for (int i = kept; i < size; i++) {
+            set(i, null);
         }
-        return false;
+        size = kept;
+        if (rebuilt != null) index = rebuilt;
+        return removed;
+    }
+
+    /**
+     * Keeps only the elements that other contains. An unindexed other is copied into an
+     * indexed list once, so the pass costs O(size + other.size()) instead of a scan of other
+     * per element.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean retainAll(GTUArrayList<? extends E> other) {
+        // other is only read, so viewing it as a list of E is safe.
+        GTUArrayList<E> lookup = (GTUArrayList<E>) other;
+        if (lookup.index == null) {
+            GTUArrayList<E> indexed = new GTUArrayList<>(true);
+            indexed.addAll(lookup);
+            lookup = indexed;
+        }
+        GTUArrayList<E> members = lookup;
+        return removeIf(element -> !members.contains(element));
     }
 
     public E get(int index) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Invalid index: " + index);
         }
-        return data[index];
+        return at(index);
     }
 
     public int size() {
         return size;
     }
 
+    // Grows once, if needed, so that minCapacity elements fit without another resize.
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) {
+            if (chunks != null) {
+                addChunks(minCapacity);
+            } else {
+                reallocate(minCapacity);
+            }
+        }
+    }
+
+    // Releases the unused slots: a flat list is copied into an array of exactly size(),
+    // a chunked one drops the chunks past the last element.
+    public void trimToSize() {
+        if (chunks != null) {
+            int used = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+            for (int c = used; c < chunks.length; c++) {
+                chunks[c] = null;
+            }
+            chunks = Arrays.copyOf(chunks, Math.max(used, 1));
+            capacity = used * CHUNK_SIZE;
+        } else if (size < capacity) {
+            reallocate(size);
+        }
+    }
+
+    private void resize(int minCapacity) {
+        if (policy == GrowthPolicy.CHUNKED) {
+            addChunks(minCapacity);
+        } else if (policy == GrowthPolicy.ONE_AND_HALF) {
+            reallocate(Math.max(capacity + (capacity >> 1), minCapacity));
+        } else {
+            reallocate(Math.max(capacity * 2, minCapacity));
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    private void resize() {
-        capacity *= 2;
-        E[] newData = (E[]) new Comparable[capacity]; 
+    private void reallocate(int newCapacity) {
+        E[] newData = (E[]) new Comparable[newCapacity]; 
         System.arraycopy(data, 0, newData, 0, size); 
         data = newData;
+        capacity = newCapacity;
+        copiedElements += size;
+        resizeCount++;
+    }
+
+    // Allocates chunks until minCapacity fits; only the array of chunk references is ever copied.
+    @SuppressWarnings("unchecked")
+    private void addChunks(int minCapacity) {
+        int needed = (minCapacity + CHUNK_MASK) >>> CHUNK_SHIFT;
+        if (needed > chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(needed, chunks.length * 2));
+        }
+        for (int c = capacity >>> CHUNK_SHIFT; c < needed; c++) {
+            chunks[c] = (E[]) new Comparable[CHUNK_SIZE];
+        }
+        capacity = needed * CHUNK_SIZE;
+        resizeCount++;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Elements copied from an old array into a new one by every resize so far.
+    public long getCopiedElements() {
+        return copiedElements;
+    }
+
+    public int getResizeCount() {
+        return resizeCount;
+    }
+
+    // Allocated slots that hold no element.
+    public int getWastedSlots() {
+        return capacity - size;
     }
 
    public class MyIterator<K> implements Iterator<K> {
@@ -58,7 +293,7 @@ public class GTUArrayList<E extends Comparable<E>> implements Iterable<E> {
 
         @SuppressWarnings("unchecked")
         public K next() {
-            return (K) data[index++];
+            return (K) at(index++);
         }
 
         public boolean hasNext() {
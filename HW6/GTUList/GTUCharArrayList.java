@@ -0,0 +1,87 @@
+package GTUList;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * GTUArrayList specialized for char: the elements live in a char[] rather than as boxed
+ * Characters, so the list takes 2 bytes per element and get() never allocates.
+ */
+public class GTUCharArrayList extends PrimitiveArrayList implements Iterable<Character> {
+
+    private char[] data;
+
+    public GTUCharArrayList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public GTUCharArrayList(int initialCapacity) {
+        super(initialCapacity);
+        data = new char[initialCapacity];
+    }
+
+    public void add(char element) {
+        ensureCapacity(size + 1);
+        data[size++] = element;
+    }
+
+    // Appends every element with a single copy, growing at most once.
+    public void addAll(char[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, data, size, elements.length);
+        size += elements.length;
+    }
+
+    public boolean contains(char element) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == element) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public char get(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    // The elements in a new array of exactly size().
+    public char[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    // Sorts in place in ascending order.
+    public void sort() {
+        Arrays.sort(data, 0, size);
+    }
+
+    @Override
+    void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    // Iterator<Character> for for-each loops; nextChar() reads without boxing.
+    public class MyIterator implements Iterator<Character> {
+        private int index = 0;
+
+        public char nextChar() {
+            if (index >= size) throw new NoSuchElementException();
+            return data[index++];
+        }
+
+        public Character next() {
+            return nextChar();
+        }
+
+        public boolean hasNext() {
+            return index < size;
+        }
+    }
+
+    @Override
+    public MyIterator iterator() {
+        return new MyIterator();
+    }
+}
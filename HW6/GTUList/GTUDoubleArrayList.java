@@ -0,0 +1,87 @@
+package GTUList;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * GTUArrayList specialized for double: the elements live in a double[] rather than as boxed
+ * Doubles, so the list takes 8 bytes per element and get() never allocates.
+ */
+public class GTUDoubleArrayList extends PrimitiveArrayList implements Iterable<Double> {
+
+    private double[] data;
+
+    public GTUDoubleArrayList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public GTUDoubleArrayList(int initialCapacity) {
+        super(initialCapacity);
+        data = new double[initialCapacity];
+    }
+
+    public void add(double element) {
+        ensureCapacity(size + 1);
+        data[size++] = element;
+    }
+
+    // Appends every element with a single copy, growing at most once.
+    public void addAll(double[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, data, size, elements.length);
+        size += elements.length;
+    }
+
+    // Compares like Double.equals(), as the boxed list does: NaN is found, 0.0 and -0.0 differ.
+    public boolean contains(double element) {
+        long bits = Double.doubleToLongBits(element);
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(data[i]) == bits) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public double get(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    // The elements in a new array of exactly size().
+    public double[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    // Sorts in place in ascending order; -0.0 comes before 0.0 and NaN comes last.
+    public void sort() {
+        Arrays.sort(data, 0, size);
+    }
+
+    @Override
+    void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    // A for-each loop boxes every element; call nextDouble() on the iterator to avoid that.
+    public class MyIterator implements PrimitiveIterator.OfDouble {
+        private int index = 0;
+
+        @Override
+        public double nextDouble() {
+            if (index >= size) throw new NoSuchElementException();
+            return data[index++];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+    }
+
+    @Override
+    public MyIterator iterator() {
+        return new MyIterator();
+    }
+}
@@ -0,0 +1,85 @@
+package GTUList;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * GTUArrayList specialized for int: the elements live in a int[] rather than as boxed
+ * Integers, so the list takes 4 bytes per element and get() never allocates.
+ */
+public class GTUIntArrayList extends PrimitiveArrayList implements Iterable<Integer> {
+
+    private int[] data;
+
+    public GTUIntArrayList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public GTUIntArrayList(int initialCapacity) {
+        super(initialCapacity);
+        data = new int[initialCapacity];
+    }
+
+    public void add(int element) {
+        ensureCapacity(size + 1);
+        data[size++] = element;
+    }
+
+    // Appends every element with a single copy, growing at most once.
+    public void addAll(int[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, data, size, elements.length);
+        size += elements.length;
+    }
+
+    public boolean contains(int element) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == element) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    // The elements in a new array of exactly size().
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    // Sorts in place in ascending order.
+    public void sort() {
+        Arrays.sort(data, 0, size);
+    }
+
+    @Override
+    void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    // A for-each loop boxes every element; call nextInt() on the iterator to avoid that.
+    public class MyIterator implements PrimitiveIterator.OfInt {
+        private int index = 0;
+
+        @Override
+        public int nextInt() {
+            if (index >= size) throw new NoSuchElementException();
+            return data[index++];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+    }
+
+    @Override
+    public MyIterator iterator() {
+        return new MyIterator();
+    }
+}
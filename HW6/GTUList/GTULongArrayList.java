@@ -0,0 +1,85 @@
+package GTUList;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * GTUArrayList specialized for long: the elements live in a long[] rather than as boxed
+ * Longs, so the list takes 8 bytes per element and get() never allocates.
+ */
+public class GTULongArrayList extends PrimitiveArrayList implements Iterable<Long> {
+
+    private long[] data;
+
+    public GTULongArrayList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public GTULongArrayList(int initialCapacity) {
+        super(initialCapacity);
+        data = new long[initialCapacity];
+    }
+
+    public void add(long element) {
+        ensureCapacity(size + 1);
+        data[size++] = element;
+    }
+
+    // Appends every element with a single copy, growing at most once.
+    public void addAll(long[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, data, size, elements.length);
+        size += elements.length;
+    }
+
+    public boolean contains(long element) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == element) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    // The elements in a new array of exactly size().
+    public long[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    // Sorts in place in ascending order.
+    public void sort() {
+        Arrays.sort(data, 0, size);
+    }
+
+    @Override
+    void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    // A for-each loop boxes every element; call nextLong() on the iterator to avoid that.
+    public class MyIterator implements PrimitiveIterator.OfLong {
+        private int index = 0;
+
+        @Override
+        public long nextLong() {
+            if (index >= size) throw new NoSuchElementException();
+            return data[index++];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+    }
+
+    @Override
+    public MyIterator iterator() {
+        return new MyIterator();
+    }
+}
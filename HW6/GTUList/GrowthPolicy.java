@@ -0,0 +1,16 @@
+package GTUList;
+
+/**
+ * How GTUArrayList grows when an add does not fit.
+ */
+public enum GrowthPolicy {
+
+    // One flat array, doubled on overflow.
+    DOUBLING,
+
+    // One flat array, grown by half its size on overflow: more copies, less unused space.
+    ONE_AND_HALF,
+
+    // Fixed-size chunks added as needed; elements are never copied, get() takes one more hop.
+    CHUNKED
+}
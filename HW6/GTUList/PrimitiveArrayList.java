@@ -0,0 +1,39 @@
+package GTUList;
+
+/**
+ * Size, growth and bounds checks shared by the primitive lists. Each subclass keeps only its
+ * typed array and the operations that read or write it.
+ */
+abstract class PrimitiveArrayList {
+
+    static final int INITIAL_CAPACITY = 10;
+
+    int size;
+    int capacity;
+
+    PrimitiveArrayList(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity cannot be negative: " + initialCapacity);
+        capacity = initialCapacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Grows once, at least doubling, so that minCapacity elements fit.
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) {
+            capacity = Math.max(capacity * 2, minCapacity);
+            resize(capacity);
+        }
+    }
+
+    void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+    }
+
+    // Copies the elements into a new array of newCapacity.
+    abstract void resize(int newCapacity);
+}
@@ -0,0 +1,13 @@
+package HashMap;
+
+/**
+ * How GTUHashMap sizes its table and turns a hash code into a slot index.
+ */
+public enum CapacityPolicy {
+
+    // Prime-sized table, quadratic probing with % indexing.
+    PRIME,
+
+    // Power-of-two table, murmur3-mixed hashes, triangular probing with & (n - 1) indexing.
+    POWER_OF_TWO
+}
@@ -0,0 +1,412 @@
+package HashMap;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe map for dictionaries that are read from many threads while being updated.
+ *
+ * Each bin holds an immutable chain of nodes. get() and containsKey() never lock: they read
+ * the bin and walk the chain. put() fills an empty bin with a CAS and otherwise locks the
+ * head node of the bin, so writers only contend when they hit the same bin.
+ *
+ * Resizing is incremental and cooperative. The old and new tables coexist, and every put()
+ * or remove() moves at most TRANSFER_STRIDE bins before doing its own work. A moved bin is
+ * replaced with a ForwardingNode, which sends readers and writers on to the new table.
+ * Readers therefore never wait for a full copy.
+ */
+public class GTUConcurrentHashMap<K, V> implements GTUMap<K, V> {
+
+    private static final int INITIAL_CAPACITY = 131072;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int TRANSFER_STRIDE = 64;
+
+    static class Node {
+        final int hash;
+        final Object key;
+        volatile Object value;
+        final Node next;
+
+        Node(int hash, Object key, Object value, Node next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    static final class ForwardingNode extends Node {
+        final Table nextTable;
+
+        ForwardingNode(Table nextTable) {
+            super(-1, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    static final class Table {
+        final AtomicReferenceArray<Node> bins;
+        final int mask;
+        // Set once when this table starts moving into a bigger one.
+        final AtomicReference<Table> next = new AtomicReference<>();
+        // Bins [0, transferIndex) have not been claimed by a mover yet.
+        final AtomicInteger transferIndex;
+        final AtomicInteger migrated = new AtomicInteger();
+
+        Table(int capacity) {
+            bins = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+            transferIndex = new AtomicInteger(capacity);
+        }
+
+        int capacity() {
+            return bins.length();
+        }
+    }
+
+    private final AtomicReference<Table> table;
+    private final LongAdder size = new LongAdder();
+    private final LongAdder collisionCount = new LongAdder();
+    private final LongAdder skippedEqualsCount = new LongAdder();
+    // Off by default: even a LongAdder write on every lock-free read costs more than the read.
+    private volatile boolean recordStats;
+
+    public GTUConcurrentHashMap() {
+        table = new AtomicReference<>(new Table(INITIAL_CAPACITY));
+    }
+
+    // Sized for expectedSize entries, so loading them never triggers a resize.
+    public GTUConcurrentHashMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        table = new AtomicReference<>(new Table(capacityFor(expectedSize)));
+    }
+
+    // Smallest power of two that holds expectedSize entries under the load factor.
+    private static int capacityFor(long expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & 0x7FFFFFFF;
+    }
+
+    private Node find(Object key) {
+        int hash = spread(key);
+        Table t = table.get();
+
+        while (true) {
+            Node n = t.bins.get(hash & t.mask);
+            if (n instanceof ForwardingNode) {
+                t = ((ForwardingNode) n).nextTable;
+                continue;
+            }
+
+            for (; n != null; n = n.next) {
+                if (n.hash != hash) {
+                    if (recordStats) skippedEqualsCount.increment();
+                } else if (n.key.equals(key)) {
+                    return n;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null) return null;
+
+        Node n = find(key);
+        return n == null ? null : (V) n.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) return false;
+
+        return find(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return (int) size.sum();
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) throw new IllegalArgumentException("Key cannot be null.");
+
+        int hash = spread(key);
+        Table t = table.get();
+        helpTransfer(t);
+
+        while (true) {
+            int i = hash & t.mask;
+            Node head = t.bins.get(i);
+
+            if (head == null) {
+                if (t.bins.compareAndSet(i, null, new Node(hash, key, value, null))) break;
+                continue;
+            }
+            if (head instanceof ForwardingNode) {
+                t = ((ForwardingNode) head).nextTable;
+                continue;
+            }
+
+            synchronized (head) {
+                if (t.bins.get(i) != head) continue;
+
+                for (Node n = head; n != null; n = n.next) {
+                    if (n.hash == hash && n.key.equals(key)) {
+                        n.value = value;
+                        return;
+                    }
+                    collisionCount.increment();
+                }
+                t.bins.set(i, new Node(hash, key, value, head));
+            }
+            break;
+        }
+
+        size.increment();
+        startResizeIfNeeded();
+    }
+
+    @Override
+    public void remove(K key) {
+        if (key == null) return;
+
+        int hash = spread(key);
+        Table t = table.get();
+        helpTransfer(t);
+
+        while (true) {
+            int i = hash & t.mask;
+            Node head = t.bins.get(i);
+
+            if (head == null) return;
+            if (head instanceof ForwardingNode) {
+                t = ((ForwardingNode) head).nextTable;
+                continue;
+            }
+
+            synchronized (head) {
+                if (t.bins.get(i) != head) continue;
+
+                Node target = head;
+                while (target != null && !(target.hash == hash && target.key.equals(key))) {
+                    target = target.next;
+                }
+                if (target == null) return;
+
+                // Chains are immutable, so copy the nodes in front of the removed one.
+                Node rebuilt = target.next;
+                for (Node n = head; n != target; n = n.next) {
+                    rebuilt = new Node(n.hash, n.key, n.value, rebuilt);
+                }
+                t.bins.set(i, rebuilt);
+            }
+            size.decrement();
+            return;
+        }
+    }
+
+    private void startResizeIfNeeded() {
+        Table t = table.get();
+        if (size.sum() > t.capacity() * LOAD_FACTOR && t.next.get() == null) {
+            if (t.next.compareAndSet(null, new Table(t.capacity() * 2))) {
+                helpTransfer(t);
+            }
+        }
+    }
+
+    /**
+     * Starts a resize straight to a table that fits expectedSize entries. Like any other
+     * resize it is carried out cooperatively by the writes that follow.
+     */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        Table t = table.get();
+        int required = capacityFor(expectedSize);
+        if (required > t.capacity() && t.next.get() == null) {
+            if (t.next.compareAndSet(null, new Table(required))) {
+                helpTransfer(t);
+            }
+        }
+    }
+
+    // Moves one stride of bins from t into its successor, if t is being resized.
+    private void helpTransfer(Table t) {
+        Table nextTable = t.next.get();
+        if (nextTable == null) return;
+
+        int hi;
+        int lo;
+        do {
+            hi = t.transferIndex.get();
+            if (hi <= 0) return;
+            lo = Math.max(0, hi - TRANSFER_STRIDE);
+        } while (!t.transferIndex.compareAndSet(hi, lo));
+
+        ForwardingNode forward = new ForwardingNode(nextTable);
+        for (int i = lo; i < hi; i++) {
+            transferBin(t, nextTable, i, forward);
+        }
+
+        if (t.migrated.addAndGet(hi - lo) == t.capacity()) {
+            table.compareAndSet(t, nextTable);
+        }
+    }
+
+    private void transferBin(Table t, Table nextTable, int i, ForwardingNode forward) {
+        while (true) {
+            Node head = t.bins.get(i);
+
+            if (head == null) {
+                if (t.bins.compareAndSet(i, null, forward)) return;
+                continue;
+            }
+
+            synchronized (head) {
+                if (t.bins.get(i) != head) continue;
+
+                // Only bin i feeds the new bins i, i + capacity, i + 2 * capacity, ...
+                // so nobody else writes them until the forwarding node is in place.
+                for (Node n = head; n != null; n = n.next) {
+                    int j = n.hash & nextTable.mask;
+                    nextTable.bins.set(j, new Node(n.hash, n.key, n.value, nextTable.bins.get(j)));
+                }
+                t.bins.set(i, forward);
+            }
+            return;
+        }
+    }
+
+    public boolean isResizing() {
+        return table.get().next.get() != null;
+    }
+
+    public int getCapacity() {
+        return table.get().capacity();
+    }
+
+    private interface ChainVisitor {
+        void visit(Node head);
+    }
+
+    // Visits every chain reachable from bin i of t, following forwarding nodes.
+    private void visitBin(Table t, int i, ChainVisitor visitor) {
+        Node n = t.bins.get(i);
+        if (n instanceof ForwardingNode) {
+            Table nextTable = ((ForwardingNode) n).nextTable;
+            for (int j = i; j < nextTable.capacity(); j += t.capacity()) {
+                visitBin(nextTable, j, visitor);
+            }
+        } else if (n != null) {
+            visitor.visit(n);
+        }
+    }
+
+    private void visitChains(ChainVisitor visitor) {
+        Table t = table.get();
+        for (int i = 0; i < t.capacity(); i++) {
+            visitBin(t, i, visitor);
+        }
+    }
+
+    /**
+     * Weakly consistent iterator: it walks a snapshot of the keys taken when it was created
+     * and never throws because of concurrent updates.
+     */
+    public class MyIterator<E> implements Iterator<E> {
+        private Object[] snapshot = new Object[16];
+        private int count = 0;
+        private int index = 0;
+
+        MyIterator() {
+            visitChains(head -> {
+                for (Node n = head; n != null; n = n.next) {
+                    if (count == snapshot.length) {
+                        Object[] grown = new Object[count * 2];
+                        System.arraycopy(snapshot, 0, grown, 0, count);
+                        snapshot = grown;
+                    }
+                    snapshot[count++] = n.key;
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return (E) snapshot[index++];
+        }
+
+        public boolean hasNext() {
+            return index < count;
+        }
+    }
+
+    @Override
+    public Iterator<K> getIterator() {
+        return new MyIterator<>();
+    }
+
+    @Override
+    public int getCollisionCount() {
+        return (int) collisionCount.sum();
+    }
+
+    @Override
+    public long getSkippedEqualsCount() {
+        return skippedEqualsCount.sum();
+    }
+
+    // Starts or stops counting the skipped equals() calls of lookups; any thread may call it.
+    @Override
+    public void setStatsEnabled(boolean enabled) {
+        recordStats = enabled;
+    }
+
+    @Override
+    public int getMaxProbeLength() {
+        int[] max = {0};
+        visitChains(head -> {
+            int length = 0;
+            for (Node n = head; n != null; n = n.next) length++;
+            max[0] = Math.max(max[0], length);
+        });
+        return max[0];
+    }
+
+    @Override
+    public double getMeanProbeLength() {
+        long[] totals = {0, 0};
+        visitChains(head -> {
+            int position = 0;
+            for (Node n = head; n != null; n = n.next) {
+                totals[0] += ++position;
+                totals[1]++;
+            }
+        });
+        return totals[1] == 0 ? 0 : (double) totals[0] / totals[1];
+    }
+
+    @Override
+    public void printMemoryUsage() {
+        long usedMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        double usedMemoryMB = usedMemory / (1024.0 * 1024.0);
+        System.out.printf("Total memory used: %.2f MB\n", usedMemoryMB);
+        System.out.printf("Bins: %d, live: %d%s\n", getCapacity(), size(), isResizing() ? " (resizing)" : "");
+    }
+}
@@ -1,133 +1,623 @@
 package HashMap;
 
+import java.util.Arrays;
 import java.util.Iterator;
-import Entry.Entry;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public class GTUHashMap<K, V> implements GTUMap<K, V> {
+
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+    private static final float DEFAULT_LOAD_FACTOR = 0.7f;
+    private static final int MIN_CAPACITY = 11;
+    private static final int MIN_ENTRIES = 16;
+    private static final int MIGRATE_STEP = 64;  // old entries moved per operation in incremental mode
+    // Rough object sizes for the retained-size estimate (compressed references assumed).
+    private static final int ARRAY_HEADER = 16;
+    private static final int TABLE_OBJECT = 48;
+
+    /**
+     * Slot i holds EMPTY, DELETED, or the index + 1 of its entry. Entries are appended to
+     * keys, values and hashes in insertion order, so iterating walks size entries rather than
+     * capacity slots. A removed entry leaves a hole (null key) that is squeezed out when the
+     * entry arrays fill up or the table is compacted.
+     */
+    private final class Table {
+        final int[] slots;
+        Object[] keys;
+        Object[] values;
+        int[] hashes;
+        int count;  // entries used so far, holes included
+        final int capacity;
+        final int mask;
+        int size;
+        int tombstones;
+
+        Table(int capacity, int entries) {
+            slots = new int[capacity];
+            keys = new Object[entries];
+            values = new Object[entries];
+            hashes = new int[entries];
+            this.capacity = capacity;
+            mask = capacity - 1;
+        }
+
+        // i-th slot of the probe sequence that starts at hash.
+        int slot(int hash, int i) {
+            if (policy == CapacityPolicy.POWER_OF_TWO) {
+                // Triangular numbers visit every slot of a power-of-two table.
+                return (hash + (int) (((long) i * i + i) >>> 1)) & mask;
+            }
+            // In long arithmetic: hash + i * i overflows to a negative index for large hashes.
+            return (int) ((hash + (long) i * i) % capacity);
+        }
+
+        // The entry arrays hold a hole where a migrating table has already given up a key.
+        boolean matches(int entry, Object key, int hash) {
+            if (hashes[entry] != hash) {
+                if (recordStats) skippedEqualsCount++;
+                return false;
+            }
+            return keys[entry] != null && keys[entry].equals(key);
+        }
+
+        // Slot holding key, or -1.
+        int find(Object key, int hash) {
+            return (int) probe(key, hash);
+        }
+
+        // The slot holding key (or -1) in the low half and the number of slots inspected in the high half.
+        long probe(Object key, int hash) {
+            int i = 0;
+
+            while (i < capacity) {
+                int index = slot(hash, i);
+                int entry = slots[index];
+
+                if (entry == EMPTY) return probeResult(-1, i + 1);
+                if (entry != DELETED && matches(entry - 1, key, hash)) return probeResult(index, i + 1);
+
+                i++;
+            }
+
+            return probeResult(-1, i);
+        }
+
+        // Same probe as probe(), for a String key given as the first length chars of chars.
+        long probeChars(char[] chars, int length, int hash) {
+            int i = 0;
+
+            while (i < capacity) {
+                int index = slot(hash, i);
+                int entry = slots[index];
+
+                if (entry == EMPTY) return probeResult(-1, i + 1);
+                if (entry != DELETED) {
+                    Object key = keys[entry - 1];
+                    if (hashes[entry - 1] != hash) {
+                        if (recordStats) skippedEqualsCount++;
+                    } else if (key instanceof String && sameChars((String) key, chars, length)) {
+                        return probeResult(index, i + 1);
+                    }
+                }
+
+                i++;
+            }
+
+            return probeResult(-1, i);
+        }
+
+        Object valueAt(int index) {
+            return values[slots[index] - 1];
+        }
+
+        // Returns false when the probe sequence ran out without finding a usable slot.
+        boolean insert(Object key, Object value, int hash) {
+            if (count == keys.length) makeEntryRoom();
+
+            int firstDeleted = -1;
+            int i = 0;
+
+            while (i < capacity) {
+                int index = slot(hash, i);
+                int entry = slots[index];
+
+                if (entry == EMPTY) {
+                    place(firstDeleted >= 0 ? firstDeleted : index, key, value, hash);
+                    return true;
+                } else if (entry == DELETED) {
+                    if (firstDeleted < 0) firstDeleted = index;
+                } else if (matches(entry - 1, key, hash)) {
+                    values[entry - 1] = value;
+                    return true;
+                } else {
+                    collisionCount++;  // collision count increment
+                }
+
+                i++;
+            }
+
+            if (firstDeleted >= 0) {
+                place(firstDeleted, key, value, hash);
+                return true;
+            }
+            return false;
+        }
+
+        void place(int index, Object key, Object value, int hash) {
+            if (slots[index] == DELETED) tombstones--;
+            keys[count] = key;
+            values[count] = value;
+            hashes[count] = hash;
+            slots[index] = ++count;
+            size++;
+            GTUHashMap.this.size++;
+        }
+
+        void delete(int index) {
+            removeEntry(slots[index] - 1);
+            slots[index] = DELETED;
+            tombstones++;
+        }
+
+        // Leaves a hole in the entry arrays; the slot pointing here must be dealt with by the caller.
+        void removeEntry(int entry) {
+            keys[entry] = null;
+            values[entry] = null;
+            size--;
+            GTUHashMap.this.size--;
+        }
+
+        boolean isCrowded() {
+            return (float) (size + tombstones) / capacity > loadFactor;
+        }
+
+        // Squeezes out the holes when they make up a quarter of the entries, otherwise grows.
+        void makeEntryRoom() {
+            int holes = count - size;
+            if (holes > 0 && holes >= count / 4) {
+                pack();
+            } else {
+                resizeEntries(Math.max(MIN_ENTRIES, count * 2));
+            }
+        }
+
+        void resizeEntries(int length) {
+            keys = Arrays.copyOf(keys, length);
+            values = Arrays.copyOf(values, length);
+            hashes = Arrays.copyOf(hashes, length);
+        }
+
+        // Moves the live entries down over the holes, keeping their order, and renumbers the slots.
+        void pack() {
+            int[] moved = new int[count];
+            int live = 0;
+            for (int e = 0; e < count; e++) {
+                if (keys[e] == null) continue;
+                keys[live] = keys[e];
+                values[live] = values[e];
+                hashes[live] = hashes[e];
+                moved[e] = live++;
+            }
+            Arrays.fill(keys, live, count, null);
+            Arrays.fill(values, live, count, null);
+            count = live;
 
-public class GTUHashMap<K, V> {
+            for (int j = 0; j < capacity; j++) {
+                if (slots[j] > 0) slots[j] = moved[slots[j] - 1] + 1;
+            }
+        }
+
+        /**
+         * Drops every tombstone and re-places the live entries without allocating a new table:
+         * the entries are packed and every slot is cleared and refilled from the entry arrays.
+         * Only safe below half load, where every probe sequence reaches a free slot.
+         */
+        void compact() {
+            pack();
+            Arrays.fill(slots, EMPTY);
+            tombstones = 0;
+
+            for (int e = 0; e < count; e++) {
+                int i = 0;
+                while (slots[slot(hashes[e], i)] != EMPTY) {
+                    i++;
+                }
+                slots[slot(hashes[e], i)] = e + 1;
+            }
+        }
+
+        // True when slot index holds a key that has not been migrated away.
+        boolean isLive(int index) {
+            return slots[index] > 0 && keys[slots[index] - 1] != null;
+        }
 
-    private Entry<K, V>[] table;
+        // Number of slots inspected before the key at index was found.
+        int probeLength(int index) {
+            int hash = hashes[slots[index] - 1];
+            int i = 0;
+            while (slot(hash, i) != index) {
+                i++;
+            }
+            return i + 1;
+        }
+    }
+
+    private Table table;
+    // Non-null while an incremental rehash is moving entries out of it into table.
+    private Table oldTable;
+    private int migrateIndex;
+    private final boolean incrementalRehash;
+    private final CapacityPolicy policy;
+    private final float loadFactor;
     private int size;
-    private int capacity;
-    private int collisionCount; 
+    private int collisionCount;
+    private long skippedEqualsCount;
+
+    // Lookup statistics are plain fields that every lookup writes, so concurrent readers would
+    // race on them; a map shared between threads turns them off with setStatsEnabled(false).
+    private boolean recordStats = true;
+    private static final int PROBE_BUCKETS = 16;
+    private static final long SLOT_BITS = 0xFFFFFFFFL;
+    private final long[] hitProbes = new long[PROBE_BUCKETS];
+    private final long[] missProbes = new long[PROBE_BUCKETS];
+    // The map object itself with its two histograms.
+    private static final int MAP_OBJECT = 64 + 2 * (ARRAY_HEADER + PROBE_BUCKETS * 8);
+    private int rehashCount;
+    private long rehashNanos;
     private static final int INITIAL_CAPACITY = 131071;
 
-    @SuppressWarnings("unchecked")
     public GTUHashMap() {
-        table = (Entry<K, V>[]) new Entry[INITIAL_CAPACITY];
+        this(CapacityPolicy.PRIME, false);
+    }
+
+    public GTUHashMap(boolean incrementalRehash) {
+        this(CapacityPolicy.PRIME, incrementalRehash);
+    }
+
+    public GTUHashMap(CapacityPolicy policy) {
+        this(policy, false);
+    }
+
+    /**
+     * With incrementalRehash the old and the new table coexist after a resize, and every
+     * put/remove moves a bounded number of old slots instead of copying the whole table at once.
+     */
+    public GTUHashMap(CapacityPolicy policy, boolean incrementalRehash) {
+        this(policy, incrementalRehash, INITIAL_CAPACITY, MIN_ENTRIES, DEFAULT_LOAD_FACTOR);
+    }
+
+    // Sized for expectedSize entries, so loading them never triggers a rehash.
+    public GTUHashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    public GTUHashMap(int expectedSize, float loadFactor) {
+        this(expectedSize, loadFactor, CapacityPolicy.PRIME, false);
+    }
+
+    public GTUHashMap(int expectedSize, float loadFactor, CapacityPolicy policy, boolean incrementalRehash) {
+        this(policy, incrementalRehash, capacityFor(expectedSize, loadFactor), Math.max(MIN_ENTRIES, expectedSize),
+                loadFactor);
+    }
+
+    private GTUHashMap(CapacityPolicy policy, boolean incrementalRehash, int initialCapacity, int initialEntries,
+                       float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1: " + loadFactor);
+        }
+        this.policy = policy;
+        this.incrementalRehash = incrementalRehash;
+        this.loadFactor = loadFactor;
+        table = new Table(nextCapacity(initialCapacity), initialEntries);
         size = 0;
-        capacity = INITIAL_CAPACITY;
         collisionCount = 0;
     }
 
-    public V get(K key) {
-        if (key == null) return null;
+    // Slots needed to hold expectedSize entries without crossing the load factor.
+    private static int capacityFor(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(expectedSize / (double) loadFactor) + 1);
+    }
 
-        int hash = (key.hashCode() & 0x7FFFFFFF);
-        int i = 0;
+    // Folds the high bits into the low ones so keys that differ only in their
+    // upper bits still land in different slots and carry different hashes.
+    // A power-of-two table only looks at the low bits, so it needs the full murmur3 finalizer.
+    private int spread(Object key) {
+        return spread(key.hashCode());
+    }
 
-        while (i < table.length) {
-            int index = (hash + i * i) % table.length;
-            Entry<K, V> entry = table[index];
+    private int spread(int h) {
+        if (policy == CapacityPolicy.POWER_OF_TWO) {
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            h ^= h >>> 16;
+            return h & 0x7FFFFFFF;
+        }
+        return (h ^ (h >>> 16)) & 0x7FFFFFFF;
+    }
 
-            if (entry == null) return null;
-            if (!entry.isDeleted && entry.key.equals(key)) return entry.value;
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null) return null;
 
-            i++;
+        int hash = spread(key);
+        Table in = table;
+        long found = table.probe(key, hash);
+        if ((int) found < 0 && oldTable != null) {
+            in = oldTable;
+            found = oldTable.probe(key, hash) + (found & ~SLOT_BITS);
         }
+        if (recordStats) record(found);
 
-        return null;
+        int index = (int) found;
+        return index >= 0 ? (V) in.valueAt(index) : null;
     }
 
+    @Override
     public int size() {
         return size;
     }
 
+    @Override
     public boolean containsKey(K key) {
         if (key == null) return false;
 
-        int hash = (key.hashCode() & 0x7FFFFFFF);
-        int i = 0;
-
-        while (i < table.length) {
-            int index = (hash + i * i) % table.length;
-            Entry<K, V> entry = table[index];
+        int hash = spread(key);
+        long found = table.probe(key, hash);
+        if ((int) found < 0 && oldTable != null) {
+            found = oldTable.probe(key, hash) + (found & ~SLOT_BITS);
+        }
+        if (recordStats) record(found);
+        return (int) found >= 0;
+    }
 
-            if (entry == null) return false;
-            if (!entry.isDeleted && entry.key.equals(key)) return true;
+    /**
+     * containsKey() for a String key held in a reusable char buffer: the String hash code is
+     * computed over the chars, so no String has to be created for the lookup.
+     */
+    @Override
+    public boolean containsChars(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
 
-            i++;
+        int hash = spread(h);
+        long found = table.probeChars(chars, length, hash);
+        if ((int) found < 0 && oldTable != null) {
+            found = oldTable.probeChars(chars, length, hash) + (found & ~SLOT_BITS);
         }
+        if (recordStats) record(found);
+        return (int) found >= 0;
+    }
 
-        return false;
+    private static long probeResult(int index, int inspected) {
+        return (long) inspected << 32 | (index & SLOT_BITS);
     }
 
-    public void remove(K key) {
-        if (key == null) return;
+    // One hit or miss per lookup, once every table it had to search has been probed.
+    private void record(long found) {
+        int inspected = (int) (found >>> 32);
+        long[] probes = (int) found >= 0 ? hitProbes : missProbes;
+        probes[Math.min(inspected, PROBE_BUCKETS) - 1]++;
+    }
 
-        int hash = (key.hashCode() & 0x7FFFFFFF);
-        int i = 0;
+    private static boolean sameChars(String key, char[] chars, int length) {
+        if (key.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != chars[i]) return false;
+        }
+        return true;
+    }
 
-        while (i < table.length) {
-            int index = (hash + i * i) % table.length;
-            Entry<K, V> entry = table[index];
+    @Override
+    public void remove(K key) {
+        if (key == null) return;
 
-            if (entry == null) return;
-            if (!entry.isDeleted && entry.key.equals(key)) {
-                entry.isDeleted = true;
-                size--;
-                return;
-            }
+        if (oldTable != null) migrateStep();
 
-            i++;
+        int hash = spread(key);
+        long found = table.probe(key, hash);
+        if ((int) found >= 0) {
+            table.delete((int) found);
+        } else if (oldTable != null) {
+            found = oldTable.probe(key, hash) + (found & ~SLOT_BITS);
+            if ((int) found >= 0) oldTable.delete((int) found);
         }
+        if (recordStats) record(found);
     }
 
+    @Override
     public void put(K key, V value) {
         if (key == null) throw new IllegalArgumentException("Key cannot be null.");
 
-        if ((float) size / table.length > 0.7f) {
-            rehash();
+        if (oldTable != null) migrateStep();
+
+        // Tombstones lengthen probe chains just like live entries, so they count towards the load.
+        if (table.isCrowded()) {
+            makeRoom();
         }
 
-        int hash = (key.hashCode() & 0x7FFFFFFF);
-        int i = 0;
+        int hash = spread(key);
+        if (oldTable != null) {
+            // The key may not have been migrated yet; drop the old copy so it is never stored twice.
+            int index = oldTable.find(key, hash);
+            if (index >= 0) oldTable.delete(index);
+        }
 
-        while (i < table.length) {
-            int index = (hash + i * i) % table.length;
-            Entry<K, V> entry = table[index];
+        while (!table.insert(key, value, hash)) {
+            rebuild(nextCapacity(table.capacity * 2));
+        }
+    }
 
-            if (entry == null || entry.isDeleted) {
-                table[index] = new Entry<>(key, value);
-                size++;
-                return;
-            } else if (entry.key.equals(key)) {
-                entry.value = value;
-                if (entry.isDeleted) {
-                    entry.isDeleted = false;
-                    size++; 
-                }
+    // Grows the table when live entries alone are dense, otherwise clears the tombstones.
+    private void makeRoom() {
+        finishMigration();
+
+        boolean grow = (float) table.size / table.capacity > loadFactor / 2;
+        if (incrementalRehash) {
+            rehashCount++;  // its time is counted step by step in migrateStep()
+            oldTable = table;
+            table = new Table(grow ? nextCapacity(table.capacity * 2) : table.capacity, Math.max(MIN_ENTRIES, table.size));
+            migrateIndex = 0;
+        } else if (grow) {
+            rebuild(nextCapacity(table.capacity * 2));
+        } else {
+            compactInPlace();
+        }
+    }
+
+    private void compactInPlace() {
+        long start = System.nanoTime();
+        table.compact();
+        rehashCount++;
+        rehashNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Moves up to MIGRATE_STEP entries of the old table into the current one, in insertion
+     * order. A moved entry becomes a hole that old-table lookups skip; its slot is left as is
+     * because the old table is dropped once the last entry has moved.
+     */
+    private void migrateStep() {
+        long start = System.nanoTime();
+        int end = Math.min(migrateIndex + MIGRATE_STEP, oldTable.count);
+        for (; migrateIndex < end; migrateIndex++) {
+            Object key = oldTable.keys[migrateIndex];
+            if (key == null) continue;
+
+            if (!table.insert(key, oldTable.values[migrateIndex], oldTable.hashes[migrateIndex])) {
+                // The new table ran out of probe positions: fall back to a full rebuild.
+                rehashNanos += System.nanoTime() - start;
+                rebuild(nextCapacity(table.capacity * 2));
                 return;
-            } else {
-                collisionCount++;  // collision count increment
             }
+            oldTable.removeEntry(migrateIndex);
+        }
+        rehashNanos += System.nanoTime() - start;
 
-            i++;
+        if (migrateIndex == oldTable.count) {
+            oldTable = null;
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void rehash() {
-        Entry<K, V>[] oldTable = table;
-        int newCapacity = findPrime(capacity * 2);
-        table = (Entry<K, V>[]) new Entry[newCapacity];
-        capacity = newCapacity;
-        size = 0;
+    private void finishMigration() {
+        while (oldTable != null) {
+            migrateStep();
+        }
+    }
 
-        for (Entry<K, V> entry : oldTable) {
-            if (entry != null && !entry.isDeleted) {
-                put(entry.key, entry.value);
+    /**
+     * Copies every live entry, from both tables if a migration is running, into a fresh table
+     * of newCapacity slots, growing further if a probe sequence runs out.
+     */
+    private void rebuild(int newCapacity) {
+        long start = System.nanoTime();
+        Table current = table;
+        Table previous = oldTable;
+        oldTable = null;
+
+        int live = current.size + (previous == null ? 0 : previous.size);
+        boolean placedAll = false;
+        while (!placedAll) {
+            table = new Table(newCapacity, Math.max(MIN_ENTRIES, live));
+            size = 0;
+            placedAll = copyLive(current) && (previous == null || copyLive(previous));
+            newCapacity = nextCapacity(newCapacity * 2);
+        }
+        rehashCount++;
+        rehashNanos += System.nanoTime() - start;
+    }
+
+    private boolean copyLive(Table source) {
+        // The cached hash saves a hashCode() call per live entry.
+        for (int e = 0; e < source.count; e++) {
+            if (source.keys[e] != null && !table.insert(source.keys[e], source.values[e], source.hashes[e])) {
+                return false;
             }
         }
+        return true;
+    }
+
+    // Grows the table once, if needed, so that expectedSize entries fit under the load factor.
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        int required = nextCapacity(capacityFor(expectedSize, loadFactor));
+        if (required > table.capacity) {
+            rebuild(required);
+        } else if (table.keys.length < expectedSize) {
+            table.resizeEntries(expectedSize);
+        }
+    }
+
+    /**
+     * Presizes once and then inserts straight into the table, skipping the per-put load check.
+     * Entries of another GTUHashMap with the same policy also keep their cached hashes.
+     */
+    @Override
+    public void putAll(GTUMap<? extends K, ? extends V> other) {
+        if (!(other instanceof GTUHashMap)) {
+            GTUMap.super.putAll(other);
+            return;
+        }
+
+        GTUHashMap<?, ?> source = (GTUHashMap<?, ?>) other;
+        finishMigration();
+        ensureCapacity(size + source.size);
+
+        boolean sameHash = source.policy == policy;
+        bulkInsert(source.table, sameHash);
+        if (source.oldTable != null) bulkInsert(source.oldTable, sameHash);
+    }
+
+    private void bulkInsert(GTUHashMap<?, ?>.Table source, boolean sameHash) {
+        for (int e = 0; e < source.count; e++) {
+            Object key = source.keys[e];
+            if (key == null) continue;
+
+            int hash = sameHash ? source.hashes[e] : spread(key);
+            while (!table.insert(key, source.values[e], hash)) {
+                rebuild(nextCapacity(table.capacity * 2));
+            }
+        }
+    }
+
+    // Drops every tombstone without doubling the capacity.
+    public void compact() {
+        finishMigration();
+
+        // Above half load a probe may not reach a free slot, so copy into fresh arrays instead.
+        if ((float) table.size / table.capacity > 0.5f) {
+            rebuild(table.capacity);
+        } else {
+            compactInPlace();
+        }
+    }
+
+    // Releases the space of a map that was once large and is now mostly empty.
+    public void trimToSize() {
+        int newCapacity = nextCapacity(Math.max(MIN_CAPACITY, size * 2 + 1));
+        if (newCapacity < table.capacity) {
+            rebuild(newCapacity);
+        } else {
+            compact();
+            table.resizeEntries(Math.max(MIN_ENTRIES, table.count));
+        }
+    }
+
+    // Smallest capacity allowed by the policy that is at least n.
+    private int nextCapacity(int n) {
+        if (policy == CapacityPolicy.POWER_OF_TWO) {
+            return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+        }
+        return findPrime(n);
     }
 
     private int findPrime(int n) {
@@ -149,36 +639,226 @@ public class GTUHashMap<K, V> {
         return true;
     }
 
+    // Walks the entry arrays, so keys come out in insertion order unless a rehash is migrating.
     public class MyIterator<E> implements Iterator<E> {
+        private Table current = table;
         private int index = 0;
 
         @SuppressWarnings("unchecked")
         public E next() {
-            return (E) table[index++].key;
+            // hasNext() moves past the holes left by removed entries.
+            if (!hasNext()) throw new NoSuchElementException();
+            return (E) current.keys[index++];
         }
 
         public boolean hasNext() {
-            while (index < table.length) {
-                if (table[index] != null && !table[index].isDeleted) {
-                    return true;
+            while (true) {
+                while (index < current.count) {
+                    if (current.keys[index] != null) {
+                        return true;
+                    }
+                    index++;
                 }
-                index++;
+                if (current == oldTable || oldTable == null) return false;
+                current = oldTable;
+                index = 0;
             }
-            return false;
         }
     }
 
+    @Override
     public Iterator<K> getIterator() {
         return new MyIterator<>();
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Table t = table; t != null; t = t == table ? oldTable : null) {
+            for (int e = 0; e < t.count; e++) {
+                if (t.keys[e] != null) action.accept((K) t.keys[e], (V) t.values[e]);
+            }
+        }
+    }
+
+    // Splits by entry index, so a parallel stream hands each worker a contiguous run of entries.
+    @Override
+    public Spliterator<K> spliterator() {
+        int end = table.count + (oldTable == null ? 0 : oldTable.count);
+        return new KeySpliterator(table, oldTable, 0, end);
+    }
+
+    /**
+     * Covers the entries [index, fence) of the current table followed by those of the
+     * migrating one, numbered as if the two entry arrays were laid end to end. The estimate
+     * counts holes too, so the spliterator is not SIZED.
+     */
+    private final class KeySpliterator implements Spliterator<K> {
+        private final Table first;
+        private final Table second;
+        private int index;
+        private final int fence;
+
+        KeySpliterator(Table first, Table second, int index, int fence) {
+            this.first = first;
+            this.second = second;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        private Object keyAt(int i) {
+            return i < first.count ? first.keys[i] : second.keys[i - first.count];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super K> action) {
+            while (index < fence) {
+                Object key = keyAt(index++);
+                if (key != null) {
+                    action.accept((K) key);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super K> action) {
+            for (; index < fence; index++) {
+                Object key = keyAt(index);
+                if (key != null) action.accept((K) key);
+            }
+        }
+
+        @Override
+        public Spliterator<K> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) return null;
+            KeySpliterator prefix = new KeySpliterator(first, second, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+    }
+
+    @Override
     public int getCollisionCount() {
         return collisionCount;
     }
 
+    // Number of equals() calls avoided because the cached hashes already differed.
+    @Override
+    public long getSkippedEqualsCount() {
+        return skippedEqualsCount;
+    }
+
+    @Override
+    public int getMaxProbeLength() {
+        int max = 0;
+        for (Table t = table; t != null; t = t == table ? oldTable : null) {
+            for (int j = 0; j < t.capacity; j++) {
+                if (t.isLive(j)) max = Math.max(max, t.probeLength(j));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public double getMeanProbeLength() {
+        if (size == 0) return 0;
+        long total = 0;
+        for (Table t = table; t != null; t = t == table ? oldTable : null) {
+            for (int j = 0; j < t.capacity; j++) {
+                if (t.isLive(j)) total += t.probeLength(j);
+            }
+        }
+        return (double) total / size;
+    }
+
+    public int getTombstoneCount() {
+        return table.tombstones + (oldTable == null ? 0 : oldTable.tombstones);
+    }
+
+    public int getCapacity() {
+        return table.capacity;
+    }
+
+    public CapacityPolicy getCapacityPolicy() {
+        return policy;
+    }
+
+    public boolean isRehashing() {
+        return oldTable != null;
+    }
+
+    // Bytes held by the slot and entry arrays themselves (compressed references assumed),
+    // excluding the keys and values they point to.
+    public long getTableFootprint() {
+        long footprint = 0;
+        for (Table t = table; t != null; t = t == table ? oldTable : null) {
+            footprint += 4L * t.capacity + (2L * 4 + 4) * t.keys.length;
+        }
+        return footprint;
+    }
+
+    // Footprint plus array headers and the Table objects; the keys and values are not included.
+    private long getRetainedSize() {
+        int tables = oldTable == null ? 1 : 2;
+        return getTableFootprint() + tables * (4 * ARRAY_HEADER + TABLE_OBJECT) + MAP_OBJECT;
+    }
+
+    /**
+     * Turns recording of the lookup statistics on or off: the hit and miss probe histograms
+     * and the skipped equals() count. They are on by default and cost a few increments per
+     * lookup, but every get, containsKey and remove writes them, so turn them off before
+     * several threads read the map. Collisions and rehashes happen on writes and are always
+     * counted.
+     */
+    @Override
+    public void setStatsEnabled(boolean enabled) {
+        recordStats = enabled;
+    }
+
+    public boolean isStatsEnabled() {
+        return recordStats;
+    }
+
+    /**
+     * Snapshot of the current shape of the table and of the lookup, collision and rehash
+     * counters since construction or the last resetStats().
+     */
+    public GTUHashMapStats getStats() {
+        return new GTUHashMapStats(size, table.capacity + (oldTable == null ? 0 : oldTable.capacity),
+                getTombstoneCount(), oldTable != null, loadFactor, hitProbes, missProbes,
+                collisionCount, skippedEqualsCount, recordStats, rehashCount, rehashNanos, getRetainedSize());
+    }
+
+    // Zeroes every counter; the table itself is left alone.
+    public void resetStats() {
+        Arrays.fill(hitProbes, 0);
+        Arrays.fill(missProbes, 0);
+        collisionCount = 0;
+        skippedEqualsCount = 0;
+        rehashCount = 0;
+        rehashNanos = 0;
+    }
+
+    @Override
     public void printMemoryUsage() {
         long usedMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-        double usedMemoryMB = usedMemory / (1024.0 * 1024.0); 
-        System.out.printf("Total memory used: %.2f MB\n", usedMemoryMB);
+        double usedMemoryMB = usedMemory / (1024.0 * 1024.0);
+        System.out.printf("Total memory used: %.2f MB (whole JVM)\n", usedMemoryMB);
+        System.out.print(getStats());
     }
 }
@@ -0,0 +1,120 @@
+package HashMap;
+
+/**
+ * Snapshot of a GTUHashMap's shape and of what its lookups have cost since the last
+ * resetStats(). The histograms count lookups by the number of slots inspected: bucket i is
+ * i + 1 slots, the last bucket is that many or more. A lookup during an incremental rehash
+ * counts the slots of both tables. Lookups made after GTUHashMap.setStatsEnabled(false) are
+ * not counted. Instances never change after
+ * GTUHashMap.getStats() returns them.
+ */
+public final class GTUHashMapStats {
+
+    public final int size;
+    public final int capacity;
+    public final int tombstones;
+    public final boolean rehashing;
+    // Live entries and tombstones over the slot count; the map grows or compacts above maxLoadFactor.
+    public final double loadFactor;
+    public final double tombstoneRatio;
+    public final float maxLoadFactor;
+
+    private final long[] hitProbes;
+    private final long[] missProbes;
+    public final long hits;
+    public final long misses;
+    public final long collisions;
+    public final long skippedEquals;
+    // False if lookups were not being recorded when the snapshot was taken.
+    public final boolean recordingLookups;
+
+    // Full rebuilds, in-place compactions and incremental migrations, and the time spent in them.
+    public final int rehashCount;
+    public final long rehashNanos;
+
+    // Slot and entry arrays with their headers; the keys and values are not included.
+    public final long retainedBytes;
+
+    GTUHashMapStats(int size, int capacity, int tombstones, boolean rehashing, float maxLoadFactor,
+                    long[] hitProbes, long[] missProbes, long collisions, long skippedEquals,
+                    boolean recordingLookups, int rehashCount, long rehashNanos, long retainedBytes) {
+        this.size = size;
+        this.capacity = capacity;
+        this.tombstones = tombstones;
+        this.rehashing = rehashing;
+        this.maxLoadFactor = maxLoadFactor;
+        this.loadFactor = (double) (size + tombstones) / capacity;
+        this.tombstoneRatio = (double) tombstones / capacity;
+        this.hitProbes = hitProbes.clone();
+        this.missProbes = missProbes.clone();
+        this.hits = sum(hitProbes);
+        this.misses = sum(missProbes);
+        this.collisions = collisions;
+        this.skippedEquals = skippedEquals;
+        this.recordingLookups = recordingLookups;
+        this.rehashCount = rehashCount;
+        this.rehashNanos = rehashNanos;
+        this.retainedBytes = retainedBytes;
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public int getHistogramBuckets() {
+        return hitProbes.length;
+    }
+
+    // Successful lookups that inspected bucket + 1 slots (or more, for the last bucket).
+    public long getHitProbes(int bucket) {
+        return hitProbes[bucket];
+    }
+
+    public long getMissProbes(int bucket) {
+        return missProbes[bucket];
+    }
+
+    // Mean slots inspected per lookup, counting the last bucket at its lower bound.
+    public double getMeanHitProbes() {
+        return mean(hitProbes, hits);
+    }
+
+    public double getMeanMissProbes() {
+        return mean(missProbes, misses);
+    }
+
+    private static double mean(long[] counts, long total) {
+        if (total == 0) return 0;
+        long slots = 0;
+        for (int i = 0; i < counts.length; i++) {
+            slots += counts[i] * (i + 1);
+        }
+        return (double) slots / total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d entries in %d slots%s: load %.3f (max %.2f), %d tombstones (%.3f)\n",
+                size, capacity, rehashing ? " (rehashing)" : "", loadFactor, maxLoadFactor, tombstones, tombstoneRatio));
+        if (!recordingLookups) {
+            sb.append(String.format("Lookups: n/a (stats disabled), %d insert collisions\n", collisions));
+        } else {
+            sb.append(String.format("Lookups: %d hits (mean %.2f probes), %d misses (mean %.2f probes), %d insert collisions, %d equals skipped\n",
+                    hits, getMeanHitProbes(), misses, getMeanMissProbes(), collisions, skippedEquals));
+            sb.append("Probes   hits       misses\n");
+            for (int i = 0; i < hitProbes.length; i++) {
+                if (hitProbes[i] == 0 && missProbes[i] == 0) continue;
+                String label = i == hitProbes.length - 1 ? (i + 1) + "+" : String.valueOf(i + 1);
+                sb.append(String.format("%-8s %-10d %d\n", label, hitProbes[i], missProbes[i]));
+            }
+        }
+        sb.append(String.format("Rehashes: %d in %.2f ms; table retains %.2f MB\n",
+                rehashCount, rehashNanos / 1e6, retainedBytes / (1024.0 * 1024.0)));
+        return sb.toString();
+    }
+}
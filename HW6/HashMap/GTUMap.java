@@ -0,0 +1,83 @@
+package HashMap;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+
+/**
+ * Operations shared by the GTU hash map implementations, so GTUHashSet and
+ * SpellChecker can run on top of any of them.
+ */
+public interface GTUMap<K, V> {
+
+    V get(K key);
+
+    void put(K key, V value);
+
+    void remove(K key);
+
+    boolean containsKey(K key);
+
+    int size();
+
+    // containsKey() for String keys given as the first length chars of a buffer.
+    @SuppressWarnings("unchecked")
+    default boolean containsChars(char[] chars, int length) {
+        return containsKey((K) new String(chars, 0, length));
+    }
+
+    Iterator<K> getIterator();
+
+    // Visits every mapping; implementations that can walk their storage directly override this.
+    default void forEach(BiConsumer<? super K, ? super V> action) {
+        Iterator<K> keys = getIterator();
+        while (keys.hasNext()) {
+            K key = keys.next();
+            action.accept(key, get(key));
+        }
+    }
+
+    // Keys for StreamSupport.stream(); this default cannot split, so parallel streams gain little.
+    default Spliterator<K> spliterator() {
+        return Spliterators.spliteratorUnknownSize(getIterator(), Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    int getCollisionCount();
+
+    // equals() calls avoided because the cached hashes differed; lookups only count them while stats are enabled.
+    long getSkippedEqualsCount();
+
+    /**
+     * Turns the counters that lookups update on or off. Most maps keep them in plain fields
+     * that every get and containsKey writes; they are on by default and must be turned off
+     * before several threads read the map. Maps built to be shared start with them off.
+     */
+    default void setStatsEnabled(boolean enabled) {
+    }
+
+    // Longest number of slots a successful lookup has to inspect.
+    int getMaxProbeLength();
+
+    // Average number of slots a successful lookup has to inspect.
+    double getMeanProbeLength();
+
+    // Makes room for expectedSize entries up front so they can be added without resizing.
+    void ensureCapacity(int expectedSize);
+
+    // Copies every mapping of other into this map, presizing once.
+    default void putAll(GTUMap<? extends K, ? extends V> other) {
+        ensureCapacity(size() + other.size());
+        copyFrom(other);
+    }
+
+    private <K2 extends K, V2 extends V> void copyFrom(GTUMap<K2, V2> other) {
+        Iterator<K2> keys = other.getIterator();
+        while (keys.hasNext()) {
+            K2 key = keys.next();
+            put(key, other.get(key));
+        }
+    }
+
+    void printMemoryUsage();
+}
@@ -0,0 +1,286 @@
+package HashMap;
+
+import java.util.Iterator;
+
+/**
+ * Open-addressing map with linear probing and Robin Hood insertion: an entry that is
+ * further from its home slot takes the place of one that is closer. Removal shifts the
+ * following entries back by one slot, so the table never holds tombstones.
+ */
+public class GTURobinHoodHashMap<K, V> implements GTUMap<K, V> {
+
+    private static final int INITIAL_CAPACITY = 131072;
+    private static final float LOAD_FACTOR = 0.85f;
+
+    // A slot is empty when keys[i] == null; distances[i] is how far it sits from its home slot.
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int[] distances;
+    private int size;
+    private int capacity;
+    private int mask;
+    private int shift;
+    private int collisionCount;
+    private long skippedEqualsCount;
+    private boolean recordStats = true;
+
+    public GTURobinHoodHashMap() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+        collisionCount = 0;
+    }
+
+    // Sized for expectedSize entries, so loading them never triggers a rehash.
+    public GTURobinHoodHashMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        allocate(capacityFor(expectedSize));
+        size = 0;
+        collisionCount = 0;
+    }
+
+    // Smallest power of two that holds expectedSize entries under the load factor.
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize + 1) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private void allocate(int newCapacity) {
+        keys = new Object[newCapacity];
+        values = new Object[newCapacity];
+        hashes = new int[newCapacity];
+        distances = new int[newCapacity];
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(newCapacity);
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & 0x7FFFFFFF;
+    }
+
+    // Fibonacci hashing: linear probing needs neighbouring hash codes to land far apart.
+    private int home(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private int findSlot(Object key) {
+        int hash = spread(key);
+        int index = home(hash);
+        int distance = 0;
+
+        // Once the resident is closer to home than we are, the key cannot be further along.
+        while (keys[index] != null && distances[index] >= distance) {
+            if (hashes[index] != hash) {
+                if (recordStats) skippedEqualsCount++;
+            } else if (keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null) return null;
+
+        int index = findSlot(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) return false;
+
+        return findSlot(key) >= 0;
+    }
+
+    @Override
+    public void remove(K key) {
+        if (key == null) return;
+
+        int index = findSlot(key);
+        if (index < 0) return;
+
+        // Backward shift: pull every displaced successor one slot closer to home.
+        int next = (index + 1) & mask;
+        while (keys[next] != null && distances[next] > 0) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            hashes[index] = hashes[next];
+            distances[index] = distances[next] - 1;
+            index = next;
+            next = (next + 1) & mask;
+        }
+
+        keys[index] = null;
+        values[index] = null;
+        size--;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (key == null) throw new IllegalArgumentException("Key cannot be null.");
+
+        if ((float) (size + 1) / capacity > LOAD_FACTOR) {
+            rehash(capacity * 2);
+        }
+
+        insert(key, value, spread(key));
+    }
+
+    private void insert(Object key, Object value, int hash) {
+        int index = home(hash);
+        int distance = 0;
+        boolean swapped = false;
+
+        while (keys[index] != null) {
+            if (!swapped && hashes[index] == hash && keys[index].equals(key)) {
+                values[index] = value;
+                return;
+            }
+
+            if (distances[index] < distance) {
+                // The resident is richer than the entry we carry: swap and keep placing the resident.
+                Object residentKey = keys[index];
+                Object residentValue = values[index];
+                int residentHash = hashes[index];
+                int residentDistance = distances[index];
+
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                distances[index] = distance;
+
+                key = residentKey;
+                value = residentValue;
+                hash = residentHash;
+                distance = residentDistance;
+                swapped = true;
+            }
+
+            collisionCount++;
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+        distances[index] = distance;
+        size++;
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        int required = capacityFor(expectedSize);
+        if (required > capacity) {
+            rehash(required);
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+
+        allocate(newCapacity);
+        size = 0;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                insert(oldKeys[j], oldValues[j], oldHashes[j]);
+            }
+        }
+    }
+
+    public class MyIterator<E> implements Iterator<E> {
+        private int index = 0;
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            return (E) keys[index++];
+        }
+
+        public boolean hasNext() {
+            while (index < capacity) {
+                if (keys[index] != null) {
+                    return true;
+                }
+                index++;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public Iterator<K> getIterator() {
+        return new MyIterator<>();
+    }
+
+    @Override
+    public int getCollisionCount() {
+        return collisionCount;
+    }
+
+    @Override
+    public long getSkippedEqualsCount() {
+        return skippedEqualsCount;
+    }
+
+    @Override
+    public void setStatsEnabled(boolean enabled) {
+        recordStats = enabled;
+    }
+
+    @Override
+    public int getMaxProbeLength() {
+        int max = 0;
+        for (int j = 0; j < capacity; j++) {
+            if (keys[j] != null) max = Math.max(max, distances[j] + 1);
+        }
+        return max;
+    }
+
+    @Override
+    public double getMeanProbeLength() {
+        if (size == 0) return 0;
+        long total = 0;
+        for (int j = 0; j < capacity; j++) {
+            if (keys[j] != null) total += distances[j] + 1;
+        }
+        return (double) total / size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Bytes held by the slot arrays themselves (compressed references assumed),
+    // excluding the keys and values they point to.
+    public long getTableFootprint() {
+        return (long) capacity * (2L * 4 + 4 + 4);
+    }
+
+    @Override
+    public void printMemoryUsage() {
+        long usedMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        double usedMemoryMB = usedMemory / (1024.0 * 1024.0);
+        System.out.printf("Total memory used: %.2f MB\n", usedMemoryMB);
+        System.out.printf("Table footprint: %.2f MB (%d slots, %d live)\n",
+                getTableFootprint() / (1024.0 * 1024.0), capacity, size);
+    }
+}
@@ -0,0 +1,420 @@
+package HashMap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Map from String keys whose characters live off-heap: every key is stored once as UTF-8 in
+ * a direct ByteBuffer arena, and the heap only holds a few primitive arrays (an offset table,
+ * lengths, cached hashes and the slots). A dictionary of hundreds of thousands of words then
+ * costs the garbage collector a handful of arrays instead of one String per word.
+ *
+ * Lookups compare the probe key's chars against the arena bytes, encoding them on the fly,
+ * so no String or byte[] is created for a lookup and concurrent readers share no scratch
+ * state. Values stay on the heap; while every entry has the same value (as in a GTUHashSet)
+ * no value array exists at all. Iteration decodes a new String per key.
+ *
+ * Slots use a power-of-two table with triangular probing. A removed key leaves a hole in
+ * the entry arrays and its bytes in the arena until compact() copies the live keys into a
+ * fresh arena. The arena is freed by the garbage collector once the map is unreachable.
+ */
+public class GTUStringArenaMap<V> implements GTUMap<String, V> {
+
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+    private static final int REMOVED = -1;  // length of a removed entry
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final int MIN_SLOTS = 16;
+    private static final int MIN_ENTRIES = 16;
+    private static final int MIN_ARENA = 1024;
+
+    private ByteBuffer arena;
+    private int arenaUsed;
+
+    // Entry e holds the bytes [offsets[e], offsets[e] + lengths[e]) of the arena.
+    private int[] offsets;
+    private int[] lengths;
+    private int[] hashes;
+    private Object[] values;  // null while every entry maps to sharedValue
+    private Object sharedValue;
+    private int count;  // entries used so far, holes included
+    private int size;
+
+    // Slot i holds EMPTY, DELETED, or the index + 1 of its entry.
+    private int[] slots;
+    private int mask;
+    private int tombstones;
+
+    private int collisionCount;
+    private long skippedEqualsCount;
+    private boolean recordStats = true;
+
+    public GTUStringArenaMap() {
+        this(MIN_ENTRIES);
+    }
+
+    // Sized for expectedSize keys, so loading them never grows the slots or the entry arrays.
+    public GTUStringArenaMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        int entries = Math.max(MIN_ENTRIES, expectedSize);
+        offsets = new int[entries];
+        lengths = new int[entries];
+        hashes = new int[entries];
+        slots = new int[slotsFor(expectedSize)];
+        mask = slots.length - 1;
+        arena = ByteBuffer.allocateDirect(MIN_ARENA);
+    }
+
+    private static int slotsFor(int expectedSize) {
+        int n = Math.max(MIN_SLOTS, (int) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1);
+        return Integer.highestOneBit(n - 1) << 1;
+    }
+
+    // Murmur3 finalizer over the String hash code: the table only looks at the low bits.
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h & 0x7FFFFFFF;
+    }
+
+    private int slot(int hash, int i) {
+        return (hash + (int) (((long) i * i + i) >>> 1)) & mask;
+    }
+
+    // Slot of the key given either as key or as the first length chars of chars, or -1.
+    private int find(String key, char[] chars, int length, int hash) {
+        for (int i = 0; i < slots.length; i++) {
+            int index = slot(hash, i);
+            int entry = slots[index];
+
+            if (entry == EMPTY) return -1;
+            if (entry != DELETED) {
+                if (hashes[entry - 1] != hash) {
+                    if (recordStats) skippedEqualsCount++;
+                } else if (sameBytes(entry - 1, key, chars, length)) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * True when entry e holds exactly the UTF-8 encoding of the key. Chars are encoded one at
+     * a time and compared as they go; a lone surrogate is encoded as '?', as String.getBytes does.
+     */
+    private boolean sameBytes(int e, String key, char[] chars, int length) {
+        int position = offsets[e];
+        int end = position + lengths[e];
+
+        for (int i = 0; i < length; i++) {
+            int c = key != null ? key.charAt(i) : chars[i];
+            if (c < 0x80) {
+                if (position == end || arena.get(position++) != (byte) c) return false;
+                continue;
+            }
+
+            int codePoint = c;
+            if (Character.isHighSurrogate((char) c) && i + 1 < length) {
+                char low = key != null ? key.charAt(i + 1) : chars[i + 1];
+                if (Character.isLowSurrogate(low)) {
+                    codePoint = Character.toCodePoint((char) c, low);
+                    i++;
+                }
+            }
+            if (codePoint == c && Character.isSurrogate((char) c)) codePoint = '?';
+
+            int n = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (end - position < n) return false;
+            int shift = 6 * (n - 1);
+            int lead = n == 1 ? codePoint : (0xF00 >> n) & 0xFF | codePoint >> shift;
+            if (arena.get(position++) != (byte) lead) return false;
+            for (shift -= 6; shift >= 0; shift -= 6) {
+                if (arena.get(position++) != (byte) (0x80 | (codePoint >> shift) & 0x3F)) return false;
+            }
+        }
+        return position == end;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        if (key == null) return null;
+
+        int index = find(key, null, key.length(), spread(key.hashCode()));
+        if (index < 0) return null;
+        return (V) (values == null ? sharedValue : values[slots[index] - 1]);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return key != null && find(key, null, key.length(), spread(key.hashCode())) >= 0;
+    }
+
+    // The String hash code is computed over the chars, so no String is created for the lookup.
+    @Override
+    public boolean containsChars(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return find(null, chars, length, spread(h)) >= 0;
+    }
+
+    @Override
+    public void put(String key, V value) {
+        if (key == null) throw new IllegalArgumentException("Key cannot be null.");
+
+        int hash = spread(key.hashCode());
+        int index = find(key, null, key.length(), hash);
+        if (index >= 0) {
+            setValue(slots[index] - 1, value);
+            return;
+        }
+
+        if (size + tombstones + 1 > LOAD_FACTOR * slots.length) rehash();
+        if (count == offsets.length) makeEntryRoom();
+
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        reserveArena(bytes.length);
+        arena.put(arenaUsed, bytes);
+
+        int entry = count++;
+        offsets[entry] = arenaUsed;
+        lengths[entry] = bytes.length;
+        hashes[entry] = hash;
+        arenaUsed += bytes.length;
+        if (entry == 0 && values == null) sharedValue = value;
+        setValue(entry, value);
+        place(entry, hash);
+        size++;
+    }
+
+    // Puts entry into the first free slot of its probe sequence; the load check guarantees one.
+    private void place(int entry, int hash) {
+        for (int i = 0; ; i++) {
+            int index = slot(hash, i);
+            if (slots[index] == EMPTY || slots[index] == DELETED) {
+                if (slots[index] == DELETED) tombstones--;
+                slots[index] = entry + 1;
+                return;
+            }
+            collisionCount++;
+        }
+    }
+
+    private void setValue(int entry, Object value) {
+        if (values == null) {
+            if (value == sharedValue) return;
+            // The first differing value: from now on every entry keeps its own.
+            values = new Object[offsets.length];
+            Arrays.fill(values, 0, count, sharedValue);
+        }
+        values[entry] = value;
+    }
+
+    @Override
+    public void remove(String key) {
+        if (key == null) return;
+
+        int index = find(key, null, key.length(), spread(key.hashCode()));
+        if (index < 0) return;
+
+        int entry = slots[index] - 1;
+        slots[index] = DELETED;
+        tombstones++;
+        lengths[entry] = REMOVED;
+        if (values != null) values[entry] = null;
+        size--;
+    }
+
+    // Doubles the slots when live keys alone are dense, otherwise just clears the tombstones.
+    private void rehash() {
+        int capacity = slots.length;
+        if (size + 1 > LOAD_FACTOR * capacity / 2) capacity *= 2;
+        resizeSlots(capacity);
+    }
+
+    // Re-places the live entries into capacity slots from their cached hashes.
+    private void resizeSlots(int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+        tombstones = 0;
+        for (int e = 0; e < count; e++) {
+            if (lengths[e] != REMOVED) place(e, hashes[e]);
+        }
+    }
+
+    // Compacts when holes make up a quarter of the entries, otherwise grows the entry arrays.
+    private void makeEntryRoom() {
+        int holes = count - size;
+        if (holes > 0 && holes >= count / 4) {
+            compact();
+        } else {
+            resizeEntries(count * 2);
+        }
+    }
+
+    private void resizeEntries(int length) {
+        offsets = Arrays.copyOf(offsets, length);
+        lengths = Arrays.copyOf(lengths, length);
+        hashes = Arrays.copyOf(hashes, length);
+        if (values != null) values = Arrays.copyOf(values, length);
+    }
+
+    private void reserveArena(int bytes) {
+        if (arenaUsed + bytes <= arena.capacity()) return;
+
+        long wanted = Math.max(2L * arena.capacity(), (long) arenaUsed + bytes);
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) Math.min(wanted, Integer.MAX_VALUE));
+        grown.put(0, arena, 0, arenaUsed);
+        arena = grown;
+    }
+
+    /**
+     * Copies the live keys, in order, into a fresh arena sized for them and drops the holes
+     * and tombstones that remove() left behind.
+     */
+    public void compact() {
+        ByteBuffer packed = ByteBuffer.allocateDirect(Math.max(MIN_ARENA, liveBytes()));
+        int used = 0;
+        int live = 0;
+        for (int e = 0; e < count; e++) {
+            if (lengths[e] == REMOVED) continue;
+
+            packed.put(used, arena, offsets[e], lengths[e]);
+            offsets[live] = used;
+            lengths[live] = lengths[e];
+            hashes[live] = hashes[e];
+            if (values != null) values[live] = values[e];
+            used += lengths[e];
+            live++;
+        }
+        if (values != null) Arrays.fill(values, live, count, null);
+
+        arena = packed;
+        arenaUsed = used;
+        count = live;
+        resizeSlots(slots.length);
+    }
+
+    private int liveBytes() {
+        int bytes = 0;
+        for (int e = 0; e < count; e++) {
+            if (lengths[e] != REMOVED) bytes += lengths[e];
+        }
+        return bytes;
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        int required = slotsFor(expectedSize);
+        if (required > slots.length) resizeSlots(required);
+        if (offsets.length < expectedSize) resizeEntries(expectedSize);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Decodes the keys in insertion order.
+    public class MyIterator implements Iterator<String> {
+        private int entry = 0;
+        private byte[] bytes = new byte[32];
+
+        public boolean hasNext() {
+            while (entry < count && lengths[entry] == REMOVED) {
+                entry++;
+            }
+            return entry < count;
+        }
+
+        public String next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int length = lengths[entry];
+            if (bytes.length < length) bytes = new byte[Math.max(length, bytes.length * 2)];
+            arena.get(offsets[entry], bytes, 0, length);
+            entry++;
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public Iterator<String> getIterator() {
+        return new MyIterator();
+    }
+
+    @Override
+    public int getCollisionCount() {
+        return collisionCount;
+    }
+
+    @Override
+    public long getSkippedEqualsCount() {
+        return skippedEqualsCount;
+    }
+
+    @Override
+    public void setStatsEnabled(boolean enabled) {
+        recordStats = enabled;
+    }
+
+    // Number of slots inspected before entry e was found.
+    private int probeLength(int e) {
+        int i = 0;
+        while (slots[slot(hashes[e], i)] != e + 1) {
+            i++;
+        }
+        return i + 1;
+    }
+
+    @Override
+    public int getMaxProbeLength() {
+        int max = 0;
+        for (int e = 0; e < count; e++) {
+            if (lengths[e] != REMOVED) max = Math.max(max, probeLength(e));
+        }
+        return max;
+    }
+
+    @Override
+    public double getMeanProbeLength() {
+        if (size == 0) return 0;
+        long total = 0;
+        for (int e = 0; e < count; e++) {
+            if (lengths[e] != REMOVED) total += probeLength(e);
+        }
+        return (double) total / size;
+    }
+
+    // Off-heap bytes reserved by the arena, and the part of them holding keys.
+    public long getArenaCapacity() {
+        return arena.capacity();
+    }
+
+    public long getArenaUsed() {
+        return arenaUsed;
+    }
+
+    // Bytes of the on-heap arrays (compressed references assumed), excluding the values.
+    public long getHeapFootprint() {
+        long entries = (long) offsets.length * (3 * 4 + (values == null ? 0 : 4));
+        return entries + 4L * slots.length;
+    }
+
+    @Override
+    public void printMemoryUsage() {
+        long usedMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        System.out.printf("Total memory used: %.2f MB\n", usedMemory / (1024.0 * 1024.0));
+        System.out.printf("String arena: %.2f MB off-heap (%.2f MB of keys), %.2f MB of arrays on heap (%d keys, %d slots)\n",
+                getArenaCapacity() / (1024.0 * 1024.0), arenaUsed / (1024.0 * 1024.0),
+                getHeapFootprint() / (1024.0 * 1024.0), size, slots.length);
+    }
+}
@@ -0,0 +1,137 @@
+package HashSet;
+
+/**
+ * Blocked Bloom filter over int hash codes. All bits of one key live in a single 512-bit
+ * block (one 64-byte cache line), so a lookup touches one line of memory no matter how
+ * many bits it tests. A negative answer is certain; a positive one is wrong with roughly
+ * the configured false-positive rate.
+ *
+ * The filter also counts how the lookups went: hits (the key may be present), rejects (it
+ * is certainly absent) and the false positives its owner reports back. The counters are
+ * plain fields, so call setCounting(false) before several threads read the filter.
+ */
+public class BlockedBloomFilter {
+
+    private static final int BLOCK_LONGS = 8;
+    private static final int BLOCK_BITS = BLOCK_LONGS * 64;
+    private static final int MAX_HASHES = 16;
+
+    private final long[] bits;
+    private final int blocks;
+    private final int hashCount;
+    private final int expectedSize;
+    private final double falsePositiveRate;
+
+    private long hits;
+    private long rejects;
+    private long falsePositives;
+    private boolean counting = true;
+
+    public BlockedBloomFilter(int expectedSize, double falsePositiveRate) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        this.expectedSize = expectedSize;
+        this.falsePositiveRate = falsePositiveRate;
+
+        // Optimal bits per key of a classic filter, plus one: keys spread unevenly over the
+        // blocks, which costs a blocked filter a little accuracy at the same size.
+        double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) + 1;
+        long totalBits = (long) Math.ceil(Math.max(1, expectedSize) * bitsPerKey);
+        blocks = (int) Math.max(1, (totalBits + BLOCK_BITS - 1) / BLOCK_BITS);
+        bits = new long[blocks * BLOCK_LONGS];
+        hashCount = Math.max(1, Math.min(MAX_HASHES, (int) Math.round(bitsPerKey * Math.log(2))));
+    }
+
+    // 64-bit mix of the hash code: the high half picks the block, the low half the bits.
+    private static long mix(int hashCode) {
+        long h = hashCode * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return h;
+    }
+
+    // Maps the high half onto [0, blocks) with a multiply instead of a modulo.
+    private int block(long h) {
+        return (int) (((h >>> 32) * blocks) >>> 32) * BLOCK_LONGS;
+    }
+
+    public void add(int hashCode) {
+        long h = mix(hashCode);
+        int block = block(h);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 23) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            bits[block + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // Returns false only when no key with this hash code was added.
+    public boolean mightContain(int hashCode) {
+        long h = mix(hashCode);
+        int block = block(h);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 23) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            if ((bits[block + (bit >>> 6)] & (1L << bit)) == 0) {
+                if (counting) rejects++;
+                return false;
+            }
+        }
+        if (counting) hits++;
+        return true;
+    }
+
+    // Called by the owner when a key that passed the filter turned out to be absent.
+    public void recordFalsePositive() {
+        if (counting) falsePositives++;
+    }
+
+    public void setCounting(boolean counting) {
+        this.counting = counting;
+    }
+
+    public int getExpectedSize() {
+        return expectedSize;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getRejects() {
+        return rejects;
+    }
+
+    public long getFalsePositives() {
+        return falsePositives;
+    }
+
+    // Share of absent keys that got past the filter.
+    public double getObservedFalsePositiveRate() {
+        long absent = rejects + falsePositives;
+        return absent == 0 ? 0 : (double) falsePositives / absent;
+    }
+
+    public long getFootprint() {
+        return (long) bits.length * 8;
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        rejects = 0;
+        falsePositives = 0;
+    }
+}
@@ -1,20 +1,106 @@
 package HashSet;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
+import GTUList.GTUArrayList;
 import HashMap.GTUHashMap;
+import HashMap.GTUMap;
 public class GTUHashSet<E> implements Iterable<E> {
 
     private static final Object WORD = new Object();
 
-    private GTUHashMap<E, Object> map;
+    private GTUMap<E, Object> map;
+    // Optional gate in front of contains(); null until enableBloomFilter() is called.
+    private BlockedBloomFilter filter;
+    private boolean statsEnabled = true;
 
     public GTUHashSet() {
         map = new GTUHashMap<>();
     }
 
+    // Sized for expectedSize elements, so small throwaway sets stay small.
+    public GTUHashSet(int expectedSize) {
+        map = new GTUHashMap<>(expectedSize);
+    }
+
+    public GTUHashSet(int expectedSize, float loadFactor) {
+        map = new GTUHashMap<>(expectedSize, loadFactor);
+    }
+
+    // Builds the set on top of another map implementation, e.g. GTURobinHoodHashMap.
+    public GTUHashSet(GTUMap<E, Object> map) {
+        this.map = map;
+    }
+
     public void add(E element) {
         map.put(element, WORD);
+        if (filter != null) addToFilter(element);
+    }
+
+    // Presizes once for all the elements, then adds them without growing in between.
+    public void addAll(GTUArrayList<? extends E> elements) {
+        map.ensureCapacity(map.size() + elements.size());
+        for (E element : elements) {
+            map.put(element, WORD);
+            if (filter != null) addToFilter(element);
+        }
+    }
+
+    public void addAll(GTUHashSet<? extends E> other) {
+        map.putAll(other.map);
+        if (filter != null) {
+            for (E element : other) {
+                addToFilter(element);
+            }
+        }
+    }
+
+    /**
+     * Puts a blocked Bloom filter sized for the current elements in front of contains() and
+     * containsChars(), so most absent elements are rejected without probing the map. The
+     * filter is rebuilt when the set outgrows it; removed elements stay in it and only cost
+     * false positives.
+     */
+    public void enableBloomFilter(double falsePositiveRate) {
+        buildFilter(size(), falsePositiveRate);
+    }
+
+    private void buildFilter(int expectedSize, double falsePositiveRate) {
+        BlockedBloomFilter rebuilt = new BlockedBloomFilter(Math.max(expectedSize, 16), falsePositiveRate);
+        for (E element : this) {
+            rebuilt.add(element.hashCode());
+        }
+        rebuilt.setCounting(statsEnabled);
+        filter = rebuilt;
+    }
+
+    /**
+     * Turns the lookup counters of the map and of the Bloom filter on or off. They are on by
+     * default; every contains() writes them, so turn them off before several threads read
+     * the set.
+     */
+    public void setStatsEnabled(boolean enabled) {
+        statsEnabled = enabled;
+        map.setStatsEnabled(enabled);
+        if (filter != null) filter.setCounting(enabled);
+    }
+
+    public boolean isStatsEnabled() {
+        return statsEnabled;
+    }
+
+    public BlockedBloomFilter getBloomFilter() {
+        return filter;
+    }
+
+    private void addToFilter(E element) {
+        if (size() > filter.getExpectedSize()) {
+            buildFilter(size() * 2, filter.getFalsePositiveRate());
+        } else {
+            filter.add(element.hashCode());
+        }
     }
 
     public void remove(E element) {
@@ -23,7 +109,27 @@ public class GTUHashSet<E> implements Iterable<E> {
 
   
     public boolean contains(E element) {
-        return map.containsKey(element);
+        if (filter == null || element == null) return map.containsKey(element);
+
+        if (!filter.mightContain(element.hashCode())) return false;
+        boolean found = map.containsKey(element);
+        if (!found) filter.recordFalsePositive();
+        return found;
+    }
+
+    // contains() for a String held in a reusable char buffer.
+    public boolean containsChars(char[] chars, int length) {
+        if (filter == null) return map.containsChars(chars, length);
+
+        // String.hashCode() over the chars, so it matches what add() put into the filter.
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        if (!filter.mightContain(h)) return false;
+        boolean found = map.containsChars(chars, length);
+        if (!found) filter.recordFalsePositive();
+        return found;
     }
 
     public int size() {
@@ -35,10 +141,33 @@ public class GTUHashSet<E> implements Iterable<E> {
         return map.getIterator();
     }
 
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        map.forEach((element, ignored) -> action.accept(element));
+    }
+
+    // Splittable when the underlying map is, e.g. for StreamSupport.stream(set.spliterator(), true).
+    @Override
+    public Spliterator<E> spliterator() {
+        return map.spliterator();
+    }
+
     public int getCollisionCount() {
        return map.getCollisionCount();
     }
 
+    public long getSkippedEqualsCount() {
+       return map.getSkippedEqualsCount();
+    }
+
+    public int getMaxProbeLength() {
+       return map.getMaxProbeLength();
+    }
+
+    public double getMeanProbeLength() {
+       return map.getMeanProbeLength();
+    }
+
     public void printMemoryUsage() {
        map.printMemoryUsage();
     }
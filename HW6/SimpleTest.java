@@ -1,7 +1,38 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.stream.StreamSupport;
 import GTUList.GTUArrayList;
+import GTUList.GTUCharArrayList;
+import GTUList.GTUDoubleArrayList;
+import GTUList.GTUIntArrayList;
+import GTUList.GTULongArrayList;
+import GTUList.GrowthPolicy;
+import HashMap.CapacityPolicy;
+import HashMap.GTUConcurrentHashMap;
 import HashMap.GTUHashMap;
+import HashMap.GTUHashMapStats;
+import HashMap.GTUMap;
+import HashMap.GTURobinHoodHashMap;
+import HashMap.GTUStringArenaMap;
+import HashSet.BlockedBloomFilter;
 import HashSet.GTUHashSet;
+import SpellChecker.BKTree;
+import SpellChecker.BatchChecker;
+import SpellChecker.CandidateGenerator;
+import SpellChecker.EditDistance;
+import SpellChecker.HashSetDictionary;
+import SpellChecker.MappedDictionary;
+import SpellChecker.ParallelCandidateGenerator;
+import SpellChecker.RankedSuggester;
 import SpellChecker.SpellChecker;
+import SpellChecker.SuggestionCache;
+import SpellChecker.SuggestionEngine;
+import SpellChecker.SymSpellIndex;
+import SpellChecker.Tokenizer;
+import SpellChecker.TrieDictionary;
 
 public class SimpleTest {
 
@@ -11,8 +42,33 @@ public class SimpleTest {
 
     public static void runTests() {
         testGTUArrayList();
+        testGTUPrimitiveArrayLists();
+        testGTUArrayListIndexed();
+        testGTUArrayListGrowth();
         testGTUHashMap();
+        testSkippedEqualsCount();
+        testGTUHashMapRemoveAndRehash();
+        testGTUHashMapTombstones();
+        testGTUHashMapIncrementalRehash();
+        testGTUHashMapPowerOfTwo();
+        testGTUHashMapIteration();
+        testGTUHashMapStats();
+        testGTURobinHoodHashMap();
+        testGTUConcurrentHashMap();
+        testGTUStringArenaMap();
         testGTUHashSet();
+        testGTUHashSetBulkLoad();
+        testGTUHashSetBloomFilter();
+        testMappedDictionary();
+        testCandidateGenerator();
+        testSymSpellIndex();
+        testBKTree();
+        testBKTreeAgainstScan();
+        testTrieDictionary();
+        testParallelCandidateGenerator();
+        testBatchChecker();
+        testSuggestionCache();
+        testRankedSuggester();
         testSpellChecker();
     }
 
@@ -28,6 +84,126 @@ public class SimpleTest {
         System.out.println("GTUArrayList test passed!");
     }
 
+    // Test for the indexed list: contains/indexOf through the index, kept in step by the bulk operations
+    public static void testGTUArrayListIndexed() {
+        GTUArrayList<String> list = new GTUArrayList<>(true);
+        for (String word : new String[] {"cat", "dog", "cat", "cow", "bee", "dog", "cat"}) {
+            list.add(word);
+        }
+        assertEquals(true, list.isIndexed());
+        assertEquals(1, list.indexOf("dog"));
+        assertEquals(-1, list.indexOf("owl"));
+
+        assertEquals(true, list.removeIf(word -> word.startsWith("c")));
+        assertEquals(3, list.size());
+        assertEquals(0, list.indexOf("dog"));
+        assertEquals(false, list.contains("cat"));
+        assertEquals(false, list.removeIf(word -> word.equals("owl")));
+
+        GTUArrayList<String> more = new GTUArrayList<>();
+        more.add("owl");
+        more.add("dog");
+        list.addAll(more);
+        assertEquals(5, list.size());
+        assertEquals(3, list.indexOf("owl"));
+
+        // retainAll against an unindexed list, then the list left behind must still be consistent.
+        GTUArrayList<String> keep = new GTUArrayList<>();
+        keep.add("owl");
+        keep.add("bee");
+        assertEquals(true, list.retainAll(keep));
+        assertEquals(2, list.size());
+        assertEquals("bee", list.get(0));
+        assertEquals(1, list.indexOf("owl"));
+        assertEquals(false, list.contains("dog"));
+
+        GTUArrayList<String> plain = new GTUArrayList<>();
+        plain.addAll(more);
+        plain.retainAll(list);
+        assertEquals(1, plain.size());
+        assertEquals(0, plain.indexOf("owl"));
+        System.out.println("GTUArrayList indexed test passed!");
+    }
+
+    // Test for the growth policies, ensureCapacity, trimToSize and the copy/waste counters
+    public static void testGTUArrayListGrowth() {
+        GTUArrayList<String> doubling = new GTUArrayList<>();
+        GTUArrayList<String> oneAndHalf = new GTUArrayList<>(GrowthPolicy.ONE_AND_HALF);
+        GTUArrayList<String> chunked = new GTUArrayList<>(GrowthPolicy.CHUNKED, true);
+        for (int i = 0; i < 5000; i++) {
+            doubling.add("w" + i);
+            oneAndHalf.add("w" + i);
+            chunked.add("w" + i);
+        }
+        assertEquals(true, oneAndHalf.getResizeCount() > doubling.getResizeCount());
+        assertEquals(oneAndHalf.getCapacity() - 5000, oneAndHalf.getWastedSlots());
+        assertEquals(0L, chunked.getCopiedElements());
+        assertEquals("w4321", chunked.get(4321));
+        assertEquals(4321, chunked.indexOf("w4321"));
+
+        chunked.removeIf(word -> word.length() == 5);
+        assertEquals(1000, chunked.size());
+        assertEquals("w999", chunked.get(999));
+        chunked.trimToSize();
+        assertEquals(1024, chunked.getCapacity());
+        int index = 0;
+        for (String word : chunked) assertEquals("w" + index++, word);
+
+        GTUArrayList<String> presized = new GTUArrayList<>();
+        presized.ensureCapacity(5000);
+        for (int i = 0; i < 5000; i++) presized.add("w" + i);
+        assertEquals(1, presized.getResizeCount());
+        assertEquals(0L, presized.getCopiedElements());
+        assertEquals(0, presized.getWastedSlots());
+
+        doubling.trimToSize();
+        assertEquals(0, doubling.getWastedSlots());
+        doubling.add("extra");
+        assertEquals("extra", doubling.get(5000));
+        System.out.println("GTUArrayList growth test passed!");
+    }
+
+    // Test for the primitive list variants: bulk add, growth, sort, toArray and iteration
+    public static void testGTUPrimitiveArrayLists() {
+        GTUIntArrayList ints = new GTUIntArrayList(2);
+        ints.add(5);
+        ints.addAll(new int[] {3, 9, -1, 7});
+        for (int i = 0; i < 20; i++) ints.add(100 + i);
+        assertEquals(25, ints.size());
+        assertEquals(9, ints.get(2));
+        assertEquals(true, ints.contains(-1));
+        ints.sort();
+        assertEquals(-1, ints.get(0));
+        assertEquals(119, ints.get(24));
+        int[] array = ints.toArray();
+        assertEquals(25, array.length);
+        long sum = 0;
+        for (GTUIntArrayList.MyIterator it = ints.iterator(); it.hasNext(); ) sum += it.nextInt();
+        assertEquals(23L + 100 * 20 + 190, sum);
+
+        GTULongArrayList longs = new GTULongArrayList();
+        longs.addAll(new long[] {Long.MAX_VALUE, 1L, Long.MIN_VALUE});
+        longs.sort();
+        assertEquals(Long.MIN_VALUE, longs.get(0));
+        assertEquals(Long.MAX_VALUE, longs.get(2));
+
+        GTUDoubleArrayList doubles = new GTUDoubleArrayList();
+        doubles.addAll(new double[] {2.5, Double.NaN, -0.0, 0.0});
+        assertEquals(true, doubles.contains(Double.NaN));
+        doubles.sort();
+        assertEquals(-0.0, doubles.get(0));
+        assertEquals(true, Double.isNaN(doubles.get(3)));
+
+        GTUCharArrayList chars = new GTUCharArrayList(0);
+        chars.addAll("spell".toCharArray());
+        chars.sort();
+        assertEquals("ellps", new String(chars.toArray()));
+        StringBuilder text = new StringBuilder();
+        for (char c : chars) text.append(c);
+        assertEquals("ellps", text.toString());
+        System.out.println("GTU primitive array list test passed!");
+    }
+
     // Test for GTUHashMap
     public static void testGTUHashMap() {
         GTUHashMap<String, Integer> map = new GTUHashMap<>();
@@ -40,6 +216,392 @@ public class SimpleTest {
         System.out.println("GTUHashMap test passed!");
     }
 
+    // Test for the hash-first comparison: a differing cached hash skips equals(), an equal one does not
+    public static void testSkippedEqualsCount() {
+        GTUHashMap<CollidingKey, Integer> map = new GTUHashMap<>(16);
+        int capacity = map.getCapacity();
+        // a and b share a home slot but not a hash code; c has a's hash code but is not equal to it.
+        CollidingKey a = new CollidingKey(1, 1);
+        CollidingKey b = new CollidingKey(2, 1 + capacity);
+        CollidingKey c = new CollidingKey(3, 1);
+        map.put(a, 1);
+        map.put(b, 2);
+        // Inserting b already skipped a once; count the lookups only.
+        map.resetStats();
+        CollidingKey.equalsCalls = 0;
+
+        // b: a's slot is skipped, then b itself is compared.
+        assertEquals(Integer.valueOf(2), map.get(b));
+        assertEquals(1L, map.getSkippedEqualsCount());
+        assertEquals(1, CollidingKey.equalsCalls);
+        // c: a is compared (same hash), b is skipped, then an empty slot ends the probe.
+        assertEquals(true, map.get(c) == null);
+        assertEquals(2L, map.getSkippedEqualsCount());
+        assertEquals(2, CollidingKey.equalsCalls);
+
+        // With distinct hash codes equals() only runs on the key itself, so every other key a
+        // lookup meets is a skipped comparison.
+        GTUMap<CollidingKey, Integer>[] maps = newMaps();
+        for (GTUMap<CollidingKey, Integer> other : maps) {
+            CollidingKey[] keys = new CollidingKey[20000];
+            for (int i = 0; i < keys.length; i++) {
+                // Distinct, non-negative and spread out, so some of them share a slot or a bin.
+                keys[i] = new CollidingKey(i, (int) (i * 2654435761L % Integer.MAX_VALUE));
+                other.put(keys[i], i);
+            }
+            other.setStatsEnabled(true);
+            long skippedBefore = other.getSkippedEqualsCount();
+            CollidingKey.equalsCalls = 0;
+            for (CollidingKey key : keys) {
+                other.get(key);
+            }
+            assertEquals(keys.length, CollidingKey.equalsCalls);
+            assertEquals(true, other.getSkippedEqualsCount() > skippedBefore);
+        }
+
+        // The concurrent map is built to be shared, so its lookups count nothing until enabled.
+        GTUConcurrentHashMap<CollidingKey, Integer> shared = new GTUConcurrentHashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            shared.put(new CollidingKey(i, (int) (i * 2654435761L % Integer.MAX_VALUE)), i);
+        }
+        for (int i = 0; i < 20000; i++) {
+            shared.get(new CollidingKey(i, (int) (i * 2654435761L % Integer.MAX_VALUE)));
+        }
+        assertEquals(0L, shared.getSkippedEqualsCount());
+
+        // A set left at its default settings counts too, so the spell checker's stats are real.
+        GTUHashSet<CollidingKey> set = new GTUHashSet<>(16);
+        assertEquals(true, set.isStatsEnabled());
+        for (int i = 0; i < 20000; i++) {
+            set.add(new CollidingKey(i, (int) (i * 2654435761L % Integer.MAX_VALUE)));
+        }
+        long skippedBefore = set.getSkippedEqualsCount();
+        for (int i = 0; i < 20000; i++) {
+            set.contains(new CollidingKey(i, (int) (i * 2654435761L % Integer.MAX_VALUE)));
+        }
+        assertEquals(true, set.getSkippedEqualsCount() > skippedBefore);
+        System.out.println("Skipped equals count test passed!");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GTUMap<CollidingKey, Integer>[] newMaps() {
+        return (GTUMap<CollidingKey, Integer>[]) new GTUMap<?, ?>[] {
+                new GTUHashMap<CollidingKey, Integer>(), new GTURobinHoodHashMap<CollidingKey, Integer>(),
+                new GTUConcurrentHashMap<CollidingKey, Integer>()};
+    }
+
+    // Key whose hash code is chosen by the test; counts the equals() calls made on it.
+    private static final class CollidingKey {
+        static int equalsCalls;
+        private final int id;
+        private final int hash;
+
+        CollidingKey(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            equalsCalls++;
+            return other instanceof CollidingKey && ((CollidingKey) other).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // Test for GTUHashMap removal and growth past the initial table
+    public static void testGTUHashMapRemoveAndRehash() {
+        GTUHashMap<String, Integer> map = new GTUHashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            map.put("key" + i, i);
+        }
+        map.remove("key42");
+
+        assertEquals(199999, map.size());
+        assertEquals(false, map.containsKey("key42"));
+        assertEquals(Integer.valueOf(199999), map.get("key199999"));
+        System.out.println("GTUHashMap remove/rehash test passed!");
+    }
+
+    // Test for tombstone accounting, in-place compaction and trimToSize
+    public static void testGTUHashMapTombstones() {
+        GTUHashMap<String, Integer> map = new GTUHashMap<>();
+        int capacity = map.getCapacity();
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 10000; i++) {
+                map.put("r" + round + "k" + i, i);
+            }
+            for (int i = 0; i < 10000; i++) {
+                if (i % 10 != 0) map.remove("r" + round + "k" + i);
+            }
+        }
+
+        assertEquals(20000, map.size());
+        assertEquals(capacity, map.getCapacity());
+        assertEquals(Integer.valueOf(70), map.get("r3k70"));
+        assertEquals(false, map.containsKey("r3k71"));
+
+        map.compact();
+        assertEquals(0, map.getTombstoneCount());
+        assertEquals(Integer.valueOf(9990), map.get("r19k9990"));
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 10000; i += 10) {
+                if (round > 0) map.remove("r" + round + "k" + i);
+            }
+        }
+        map.trimToSize();
+        assertEquals(1000, map.size());
+        assertEquals(true, map.getCapacity() < capacity);
+        assertEquals(Integer.valueOf(500), map.get("r0k500"));
+        System.out.println("GTUHashMap tombstone test passed!");
+    }
+
+    // Test for incremental rehashing: lookups must see keys in both tables while migrating
+    public static void testGTUHashMapIncrementalRehash() {
+        GTUHashMap<String, Integer> map = new GTUHashMap<>(true);
+        boolean sawMigration = false;
+        for (int i = 0; i < 200000; i++) {
+            map.put("key" + i, i);
+            if (map.isRehashing()) {
+                sawMigration = true;
+                assertEquals(Integer.valueOf(0), map.get("key0"));
+                assertEquals(Integer.valueOf(i), map.get("key" + i));
+            }
+        }
+        map.put("key0", -1);
+        map.remove("key1");
+
+        assertEquals(true, sawMigration);
+        assertEquals(199999, map.size());
+        assertEquals(Integer.valueOf(-1), map.get("key0"));
+        assertEquals(false, map.containsKey("key1"));
+        System.out.println("GTUHashMap incremental rehash test passed!");
+    }
+
+    // Test for the power-of-two capacity policy
+    public static void testGTUHashMapPowerOfTwo() {
+        GTUHashMap<String, Integer> map = new GTUHashMap<>(CapacityPolicy.POWER_OF_TWO);
+        for (int i = 0; i < 200000; i++) {
+            map.put("key" + i, i);
+        }
+        map.remove("key7");
+
+        assertEquals(0, Integer.bitCount(map.getCapacity()) - 1);
+        assertEquals(199999, map.size());
+        assertEquals(false, map.containsKey("key7"));
+        assertEquals(Integer.valueOf(123456), map.get("key123456"));
+        System.out.println("GTUHashMap power-of-two test passed!");
+    }
+
+    // Test for dense iteration: insertion order, holes left by remove(), forEach and parallel streams
+    public static void testGTUHashMapIteration() {
+        GTUHashMap<String, Integer> map = new GTUHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        for (int i = 0; i < 100; i += 3) {
+            map.remove("key" + i);
+        }
+        map.put("key1", -1);
+        map.put("key0", 0);
+
+        Iterator<String> keys = map.getIterator();
+        assertEquals("key1", keys.next());
+        assertEquals("key2", keys.next());
+        assertEquals("key4", keys.next());
+
+        int[] visited = {0};
+        map.forEach((key, value) -> {
+            assertEquals(map.get(key), value);
+            visited[0]++;
+        });
+        assertEquals(map.size(), visited[0]);
+
+        String last = null;
+        for (Iterator<String> it = map.getIterator(); it.hasNext(); ) last = it.next();
+        assertEquals("key0", last);
+
+        GTUHashMap<Integer, Integer> large = new GTUHashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            large.put(i, i);
+        }
+        for (int i = 0; i < 200000; i += 2) {
+            large.remove(i);
+        }
+        long sum = StreamSupport.stream(large.spliterator(), true).mapToLong(Integer::longValue).sum();
+        assertEquals(100000L * 100000L, sum);
+        System.out.println("GTUHashMap iteration test passed!");
+    }
+
+    // Test for the stats snapshot: probe histograms, rehash accounting, tombstone ratio and reset
+    public static void testGTUHashMapStats() {
+        GTUHashMap<String, Integer> map = new GTUHashMap<>(16);
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+        }
+        // Lookups are recorded by default and not while stats are disabled.
+        assertEquals(true, map.isStatsEnabled());
+        map.setStatsEnabled(false);
+        map.get("key1");
+        assertEquals(0L, map.getStats().hits);
+
+        map.setStatsEnabled(true);
+        for (int i = 0; i < 1000; i++) {
+            map.get("key" + i);
+            map.containsKey("miss" + i);
+        }
+        map.remove("key0");
+
+        GTUHashMapStats stats = map.getStats();
+        assertEquals(1001L, stats.hits);
+        assertEquals(1000L, stats.misses);
+        assertEquals(true, stats.getMeanHitProbes() >= 1);
+        assertEquals(true, stats.rehashCount > 0);
+        assertEquals(true, stats.rehashNanos > 0);
+        assertEquals(1, stats.tombstones);
+        assertEquals((double) (999 + 1) / stats.capacity, stats.loadFactor);
+        assertEquals(true, stats.retainedBytes > map.getTableFootprint());
+        long histogramTotal = 0;
+        for (int i = 0; i < stats.getHistogramBuckets(); i++) histogramTotal += stats.getHitProbes(i);
+        assertEquals(stats.hits, histogramTotal);
+
+        map.resetStats();
+        map.get("key1");
+        GTUHashMapStats after = map.getStats();
+        assertEquals(1L, after.hits);
+        assertEquals(0L, after.misses);
+        assertEquals(0, after.rehashCount);
+        assertEquals(0L, after.collisions);
+        // The earlier snapshot is unaffected by the reset.
+        assertEquals(1001L, stats.hits);
+
+        // During a migration a key found in the old table is one hit, not a miss and a hit.
+        GTUHashMap<String, Integer> migrating = new GTUHashMap<>(true);
+        int n = 0;
+        while (!migrating.isRehashing()) {
+            migrating.put("key" + n, n);
+            n++;
+        }
+        migrating.resetStats();
+        assertEquals(0, (int) migrating.get("key0"));
+        assertEquals(1L, migrating.getStats().hits);
+        assertEquals(0L, migrating.getStats().misses);
+        assertEquals(true, migrating.getStats().getMeanHitProbes() >= 2);
+        System.out.println("GTUHashMap stats test passed!");
+    }
+
+    // Test for GTURobinHoodHashMap, including backward-shift removal
+    public static void testGTURobinHoodHashMap() {
+        GTURobinHoodHashMap<String, Integer> map = new GTURobinHoodHashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            map.put("key" + i, i);
+        }
+        for (int i = 0; i < 200000; i += 2) {
+            map.remove("key" + i);
+        }
+        map.put("key1", -1);
+
+        assertEquals(100000, map.size());
+        assertEquals(false, map.containsKey("key42"));
+        assertEquals(Integer.valueOf(-1), map.get("key1"));
+        assertEquals(Integer.valueOf(199999), map.get("key199999"));
+        assertEquals(true, map.getMeanProbeLength() >= 1.0);
+        System.out.println("GTURobinHoodHashMap test passed!");
+    }
+
+    // Test for GTUConcurrentHashMap: writers grow the table while a reader keeps looking up
+    public static void testGTUConcurrentHashMap() {
+        GTUConcurrentHashMap<String, Integer> map = new GTUConcurrentHashMap<>();
+        map.put("fixed", 0);
+
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            final int id = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    map.put("t" + id + "k" + i, i);
+                }
+                for (int i = 0; i < 100000; i += 2) {
+                    map.remove("t" + id + "k" + i);
+                }
+            });
+        }
+        boolean[] missed = {false};
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 200000; i++) {
+                if (!map.containsKey("fixed")) missed[0] = true;
+            }
+        });
+
+        reader.start();
+        for (Thread writer : writers) writer.start();
+        try {
+            reader.join();
+            for (Thread writer : writers) writer.join();
+        } catch (InterruptedException e) {
+            throw new AssertionError("Test interrupted");
+        }
+
+        assertEquals(false, missed[0]);
+        assertEquals(200001, map.size());
+        assertEquals(Integer.valueOf(99999), map.get("t3k99999"));
+        assertEquals(false, map.containsKey("t3k99998"));
+        System.out.println("GTUConcurrentHashMap test passed!");
+    }
+
+    // Test for the off-heap string arena: UTF-8 matching, shared and distinct values, removal and compaction
+    public static void testGTUStringArenaMap() {
+        GTUStringArenaMap<Integer> map = new GTUStringArenaMap<>();
+        String[] words = {"apple", "caf\u00E9", "na\u00EFve", "\uD834\uDD1E clef", "lone\uD800", "\u65E5\u672C"};
+        for (int i = 0; i < words.length; i++) {
+            map.put(words[i], 7);
+        }
+        assertEquals(Integer.valueOf(7), map.get("caf\u00E9"));
+        assertEquals(true, map.containsKey("\uD834\uDD1E clef"));
+        assertEquals(true, map.containsKey("lone\uD800"));
+        assertEquals(false, map.containsKey("cafe"));
+        assertEquals(false, map.containsKey("\u65E5"));
+        assertEquals(true, map.containsChars("na\u00EFve!".toCharArray(), 5));
+
+        map.put("caf\u00E9", 1);
+        assertEquals(Integer.valueOf(1), map.get("caf\u00E9"));
+        assertEquals(Integer.valueOf(7), map.get("\u65E5\u672C"));
+
+        for (int i = 0; i < 50000; i++) {
+            map.put("key" + i, i);
+        }
+        for (int i = 0; i < 50000; i += 2) {
+            map.remove("key" + i);
+        }
+        assertEquals(25000 + words.length, map.size());
+        assertEquals(false, map.containsKey("key42"));
+        long arenaBefore = map.getArenaUsed();
+        map.compact();
+        assertEquals(true, map.getArenaUsed() < arenaBefore);
+        assertEquals(Integer.valueOf(43), map.get("key43"));
+
+        Iterator<String> keys = map.getIterator();
+        assertEquals("apple", keys.next());
+        assertEquals("caf\u00E9", keys.next());
+        int count = 2;
+        while (keys.hasNext()) {
+            keys.next();
+            count++;
+        }
+        assertEquals(map.size(), count);
+
+        GTUHashSet<String> set = new GTUHashSet<>(new GTUStringArenaMap<>());
+        set.add("spell");
+        assertEquals(true, set.contains("spell"));
+        assertEquals(true, set.containsChars("spelling".toCharArray(), 5));
+        System.out.println("GTUStringArenaMap test passed!");
+    }
+
     // Test for GTUHashSet
     public static void testGTUHashSet() {
         GTUHashSet<String> set = new GTUHashSet<>();
@@ -52,6 +614,456 @@ public class SimpleTest {
         System.out.println("GTUHashSet test passed!");
     }
 
+    // Test for sized sets and the bulk-load paths
+    public static void testGTUHashSetBulkLoad() {
+        GTUArrayList<String> words = new GTUArrayList<>();
+        for (int i = 0; i < 300000; i++) {
+            words.add("word" + i);
+        }
+        GTUHashSet<String> small = new GTUHashSet<>(4);
+        small.add("apple");
+
+        GTUHashSet<String> set = new GTUHashSet<>(16, 0.5f);
+        set.addAll(words);
+        set.addAll(small);
+
+        GTUHashMap<String, Integer> map = new GTUHashMap<>(8);
+        map.put("a", 1);
+        GTUHashMap<String, Integer> other = new GTUHashMap<>(CapacityPolicy.POWER_OF_TWO);
+        other.put("a", 2);
+        other.put("b", 3);
+        map.putAll(other);
+
+        assertEquals(300001, set.size());
+        assertEquals(true, set.contains("word299999"));
+        assertEquals(true, set.contains("apple"));
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(2), map.get("a"));
+        assertEquals(Integer.valueOf(3), map.get("b"));
+        System.out.println("GTUHashSet bulk load test passed!");
+    }
+
+    // Test for the Bloom filter gate of GTUHashSet: no false negatives, few false positives
+    public static void testGTUHashSetBloomFilter() {
+        GTUHashSet<String> set = new GTUHashSet<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            set.add("word" + i);
+        }
+        set.enableBloomFilter(0.01);
+        set.setStatsEnabled(true);
+        // Elements added later, past the size the filter was built for, must still be found
+        for (int i = 1000; i < 3000; i++) {
+            set.add("word" + i);
+        }
+
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(true, set.contains("word" + i));
+            char[] chars = ("word" + i).toCharArray();
+            assertEquals(true, set.containsChars(chars, chars.length));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(false, set.contains("miss" + i));
+        }
+
+        BlockedBloomFilter filter = set.getBloomFilter();
+        assertEquals(6000L, filter.getHits() - filter.getFalsePositives());
+        assertEquals(10000L, filter.getRejects() + filter.getFalsePositives());
+        assertEquals(true, filter.getObservedFalsePositiveRate() < 0.03);
+        System.out.println("GTUHashSet Bloom filter test passed!");
+    }
+
+    // Test for the memory-mapped dictionary image
+    public static void testMappedDictionary() {
+        GTUHashSet<String> words = new GTUHashSet<>(8);
+        words.add("apple");
+        words.add("banana");
+        words.add("\u00e7i\u00e7ek");
+        words.add("");
+
+        try {
+            java.io.File source = java.io.File.createTempFile("dictionary", ".txt");
+            source.deleteOnExit();
+            java.nio.file.Files.write(source.toPath(), "apple\nbanana\n".getBytes());
+            java.io.File image = java.io.File.createTempFile("dictionary", ".img");
+            image.deleteOnExit();
+            MappedDictionary.write(words, source, image.getPath());
+            MappedDictionary mapped = MappedDictionary.open(image.getPath());
+
+            assertEquals(4, mapped.size());
+            char[] buffer = "apples".toCharArray();
+            assertEquals(true, mapped.contains(buffer, 5));
+            assertEquals(false, mapped.contains(buffer, 6));
+            assertEquals(true, mapped.contains("apple"));
+            assertEquals(true, mapped.contains("\u00e7i\u00e7ek"));
+            assertEquals(true, mapped.contains(""));
+            assertEquals(false, mapped.contains("appl"));
+            assertEquals(false, mapped.contains("apples"));
+            int count = 0;
+            for (String word : mapped) {
+                assertEquals(true, words.contains(word));
+                count++;
+            }
+            assertEquals(4, count);
+
+            // The image goes stale once the word list it was written from changes.
+            assertEquals(false, MappedDictionary.isStale(image.getPath(), source));
+            java.nio.file.Files.write(source.toPath(), "cherry\n".getBytes(), java.nio.file.StandardOpenOption.APPEND);
+            assertEquals(true, MappedDictionary.isStale(image.getPath(), source));
+        } catch (java.io.IOException e) {
+            throw new AssertionError("Image could not be written: " + e.getMessage());
+        }
+        System.out.println("MappedDictionary test passed!");
+    }
+
+    // Test for buffer-based candidate generation
+    public static void testCandidateGenerator() {
+        GTUHashSet<String> words = new GTUHashSet<>(8);
+        words.add("apple");
+        words.add("apply");
+        words.add("cat");
+        words.add("cats");
+        words.add("dog");
+        CandidateGenerator generator = new CandidateGenerator(new HashSetDictionary(words));
+
+        GTUHashSet<String> found = new GTUHashSet<>(8);
+        generator.collect("appl", 1, found);
+        assertEquals(2, found.size());
+        assertEquals(true, found.contains("apply"));
+
+        found = new GTUHashSet<>(8);
+        generator.collect("ca", 2, found);
+        assertEquals(2, found.size());
+        assertEquals(true, found.contains("cats"));
+        assertEquals(false, found.contains("dog"));
+        System.out.println("CandidateGenerator test passed!");
+    }
+
+    // Test for SymSpellIndex: same words as the brute-force generator, from deletes only
+    public static void testSymSpellIndex() {
+        GTUHashSet<String> words = new GTUHashSet<>(8);
+        words.add("apple");
+        words.add("apply");
+        words.add("cat");
+        words.add("cats");
+        words.add("dog");
+        HashSetDictionary dictionary = new HashSetDictionary(words);
+        SymSpellIndex index = new SymSpellIndex(dictionary, 2);
+        CandidateGenerator generator = new CandidateGenerator(dictionary);
+
+        String[] inputs = {"appl", "aplpe", "ca", "cst", "dgo", "xyz"};
+        for (String input : inputs) {
+            GTUHashSet<String> expected = new GTUHashSet<>(8);
+            generator.collect(input, 2, expected);
+            GTUHashSet<String> found = new GTUHashSet<>(8);
+            index.collect(input, 2, found);
+            assertEquals(expected.size(), found.size());
+            for (String word : expected) {
+                assertEquals(true, found.contains(word));
+            }
+        }
+
+        GTUHashSet<String> found = new GTUHashSet<>(8);
+        index.collect("cst", 1, found);
+        assertEquals(1, found.size());
+        assertEquals(false, found.contains("cats"));
+        System.out.println("SymSpellIndex test passed!");
+    }
+
+    // Test for BKTree: a transposition is one edit, other results match the brute-force engines
+    public static void testBKTree() {
+        EditDistance distance = new EditDistance();
+        assertEquals(2, distance.levenshtein("teh", "the", 2));
+        assertEquals(1, distance.damerauLevenshtein("teh", "the", 2));
+        assertEquals(3, distance.damerauLevenshtein("apple", "dog", 2));
+
+        GTUHashSet<String> words = new GTUHashSet<>(8);
+        words.add("the");
+        words.add("then");
+        words.add("apple");
+        words.add("apply");
+        words.add("cat");
+        words.add("cats");
+        words.add("dog");
+        HashSetDictionary dictionary = new HashSetDictionary(words);
+        SuggestionEngine tree = new BKTree(dictionary);
+        SuggestionEngine generator = new CandidateGenerator(dictionary);
+
+        GTUHashSet<String> found = new GTUHashSet<>(8);
+        tree.collect("teh", 1, found);
+        assertEquals(1, found.size());
+        assertEquals(true, found.contains("the"));
+
+        String[] inputs = {"appl", "ca", "cst", "xyz"};
+        for (String input : inputs) {
+            GTUHashSet<String> expected = new GTUHashSet<>(8);
+            generator.collect(input, 2, expected);
+            found = new GTUHashSet<>(8);
+            tree.collect(input, 2, found);
+            assertEquals(expected.size(), found.size());
+            for (String word : expected) {
+                assertEquals(true, found.contains(word));
+            }
+        }
+        System.out.println("BKTree test passed!");
+    }
+
+    // Test for BKTree: the same words as a brute-force optimal string alignment scan
+    public static void testBKTreeAgainstScan() {
+        EditDistance distance = new EditDistance();
+        assertEquals(3, distance.damerauLevenshtein("ca", "abc", 5));
+        assertEquals(2, distance.unrestrictedDamerauLevenshtein("ca", "abc", 5));
+        assertEquals(1, distance.unrestrictedDamerauLevenshtein("teh", "the", 5));
+
+        GTUHashSet<String> small = new GTUHashSet<>(4);
+        small.add("abc");
+        small.add("ca");
+        GTUHashSet<String> found = new GTUHashSet<>(4);
+        new BKTree(new HashSetDictionary(small)).collect("ac", 1, found);
+        assertEquals(true, found.contains("ca"));
+
+        // Few letters, so words are close to each other and transpositions are common.
+        Random random = new Random(12);
+        GTUHashSet<String> words = new GTUHashSet<>(4096);
+        while (words.size() < 3000) {
+            words.add(randomWord(random, "abcdef", 1 + random.nextInt(7)));
+        }
+        String[] list = new String[words.size()];
+        int n = 0;
+        for (String word : words) {
+            list[n++] = word;
+        }
+        BKTree tree = new BKTree(new HashSetDictionary(words));
+
+        for (int query = 0; query < 300; query++) {
+            String input = randomWord(random, "abcdef", 1 + random.nextInt(7));
+            int maxDistance = 1 + query % 2;
+            found = new GTUHashSet<>(64);
+            tree.collect(input, maxDistance, found);
+
+            int expected = 0;
+            for (String word : list) {
+                int d = distance.damerauLevenshtein(input, word, maxDistance);
+                if (d > 0 && d <= maxDistance) {
+                    expected++;
+                    assertEquals(true, found.contains(word));
+                }
+            }
+            assertEquals(expected, found.size());
+        }
+        System.out.println("BKTree scan test passed!");
+    }
+
+    private static String randomWord(Random random, String letters, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = letters.charAt(random.nextInt(letters.length()));
+        }
+        return new String(chars);
+    }
+
+    // Test for TrieDictionary: lookups, iteration and the Levenshtein walk
+    public static void testTrieDictionary() {
+        GTUArrayList<String> list = new GTUArrayList<>();
+        String[] words = {"cat", "cats", "car", "cart", "dog", "dogs", "apple", "apply", "cat"};
+        for (String word : words) {
+            list.add(word);
+        }
+        TrieDictionary trie = new TrieDictionary(list);
+
+        assertEquals(8, trie.size());
+        assertEquals(true, trie.contains("cart"));
+        assertEquals(false, trie.contains("ca"));
+        assertEquals(false, trie.contains("carts"));
+        assertEquals(true, trie.contains("dogs".toCharArray(), 4));
+        assertEquals(false, trie.contains("dogs".toCharArray(), 2));
+        // "s" endings of cat/dog and the leaf nodes are shared
+        assertEquals(true, trie.getNodeCount() < 18);
+
+        String previous = "";
+        int count = 0;
+        for (String word : trie) {
+            assertEquals(true, previous.compareTo(word) < 0);
+            previous = word;
+            count++;
+        }
+        assertEquals(8, count);
+
+        GTUHashSet<String> set = new GTUHashSet<>(16);
+        set.addAll(list);
+        CandidateGenerator generator = new CandidateGenerator(new HashSetDictionary(set));
+        String[] inputs = {"cot", "ca", "aple", "dgo", "xyz"};
+        for (String input : inputs) {
+            GTUHashSet<String> expected = new GTUHashSet<>(8);
+            generator.collect(input, 2, expected);
+            GTUHashSet<String> found = new GTUHashSet<>(8);
+            trie.collect(input, 2, found);
+            assertEquals(expected.size(), found.size());
+            for (String word : expected) {
+                assertEquals(true, found.contains(word));
+            }
+        }
+        System.out.println("TrieDictionary test passed!");
+    }
+
+    // Test for ParallelCandidateGenerator: same suggestions as the sequential generator
+    public static void testParallelCandidateGenerator() {
+        GTUHashSet<String> words = new GTUHashSet<>(16);
+        String[] list = {"spell", "spelling", "spellchecker", "spellcheckers", "checker", "checkers", "cat", "cats"};
+        for (String word : list) {
+            words.add(word);
+        }
+        words.setStatsEnabled(false);
+        HashSetDictionary dictionary = new HashSetDictionary(words);
+        CandidateGenerator sequential = new CandidateGenerator(dictionary);
+        ParallelCandidateGenerator parallel = new ParallelCandidateGenerator(dictionary, 4, 0);
+
+        String[] inputs = {"spelchecker", "spellchekcers", "ct", "chcker"};
+        for (String input : inputs) {
+            GTUHashSet<String> expected = new GTUHashSet<>(8);
+            sequential.collect(input, 2, expected);
+            GTUHashSet<String> found = new GTUHashSet<>(8);
+            parallel.collect(input, 2, found);
+            assertEquals(expected.size(), found.size());
+            for (String word : expected) {
+                assertEquals(true, found.contains(word));
+            }
+
+            // The distance-1 words plus the rest beyond them make up the same set.
+            GTUHashSet<String> beyond = new GTUHashSet<>(8);
+            sequential.collect(input, 1, beyond);
+            parallel.collectBeyond(input, beyond, 2, beyond);
+            assertEquals(expected.size(), beyond.size());
+            for (String word : expected) {
+                assertEquals(true, beyond.contains(word));
+            }
+        }
+        assertEquals(true, parallel.getProbeCount() > 0);
+        parallel.close();
+        System.out.println("ParallelCandidateGenerator test passed!");
+    }
+
+    // Test for batch mode: tokenizing, digit skipping and the suggestion cache
+    public static void testBatchChecker() {
+        GTUHashSet<String> words = new GTUHashSet<>(16);
+        String[] list = {"the", "cat", "sat", "on", "mat", "dog"};
+        for (String word : list) {
+            words.add(word);
+        }
+        HashSetDictionary dictionary = new HashSetDictionary(words);
+        SuggestionCache cache = new SuggestionCache(SuggestionCache.Policy.LRU, 16, 4096);
+        BatchChecker batch = new BatchChecker(dictionary, new CandidateGenerator(dictionary), 1, cache, 0);
+
+        StringWriter out = new StringWriter();
+        try {
+            batch.run(new StringReader("The cat sat on thw mat.\nR2D2, Thw dgo; the-cat"), out);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        assertEquals("thw: the\nthw: the\ndgo: (no suggestions)\n", out.toString());
+        assertEquals(1L, cache.getHits());
+
+        try {
+            Tokenizer tokenizer = new Tokenizer(new StringReader("  x1 Ab  "));
+            assertEquals(true, tokenizer.next());
+            assertEquals(true, tokenizer.hasDigit());
+            assertEquals(true, tokenizer.next());
+            assertEquals("ab", new String(tokenizer.chars(), 0, tokenizer.length()));
+            assertEquals(false, tokenizer.next());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        System.out.println("BatchChecker test passed!");
+    }
+
+    // Test for SuggestionCache: LRU and LFU victims, entry and byte budgets
+    public static void testSuggestionCache() {
+        SuggestionCache lru = new SuggestionCache(SuggestionCache.Policy.LRU, 3, 1 << 20);
+        lru.put("a", "1");
+        lru.put("b", "2");
+        lru.put("c", "3");
+        assertEquals("1", lru.get("a"));
+        lru.put("d", "4");           // b is the least recently used
+        assertEquals(true, lru.get("b") == null);
+        assertEquals("1", lru.get("a"));
+        assertEquals(3, lru.size());
+        assertEquals(1L, lru.getEvictions());
+
+        SuggestionCache lfu = new SuggestionCache(SuggestionCache.Policy.LFU, 3, 1 << 20);
+        lfu.put("a", "1");
+        lfu.put("b", "2");
+        lfu.put("c", "3");
+        lfu.get("a");
+        lfu.get("a");
+        lfu.get("c");
+        lfu.put("d", "4");           // b has the fewest uses
+        assertEquals(true, lfu.get("b") == null);
+        lfu.put("e", "5");           // d and e have one use each, d is older
+        assertEquals(true, lfu.get("d") == null);
+        assertEquals("1", lfu.get("a"));
+        assertEquals("3", lfu.get("c"));
+        assertEquals("5", lfu.get("e"));
+
+        SuggestionCache small = new SuggestionCache(SuggestionCache.Policy.LRU, 100, 250);
+        small.put("x", "a fairly long suggestion line");
+        small.put("y", "another fairly long suggestion line");
+        assertEquals(1, small.size());
+        assertEquals(true, small.getBytes() <= 250);
+        System.out.println("SuggestionCache test passed!");
+    }
+
+    // Test for RankedSuggester: order by (distance, frequency), distance 2 skipped when k close words exist
+    public static void testRankedSuggester() {
+        GTUHashSet<String> words = new GTUHashSet<>(16);
+        GTUHashMap<String, Long> frequencies = new GTUHashMap<>(16);
+        String[] list = {"cat", "car", "cut", "cart", "coat", "act"};
+        long[] counts = {500, 900, 100, 50, 80, 700};
+        for (int i = 0; i < list.length; i++) {
+            words.add(list[i]);
+            frequencies.put(list[i], counts[i]);
+        }
+        HashSetDictionary dictionary = new HashSetDictionary(words, frequencies);
+        CandidateGenerator generator = new CandidateGenerator(dictionary);
+
+        // distance 1: car, cat, cut, cart, coat; distance 2: act
+        RankedSuggester top3 = new RankedSuggester(dictionary, generator, 3);
+        String[] best = top3.suggest("cat", 2);
+        assertEquals(3, best.length);
+        assertEquals("car", best[0]);
+        assertEquals("cut", best[1]);
+        assertEquals("coat", best[2]);
+        assertEquals(1L, top3.getSkippedExpansions());
+
+        RankedSuggester top10 = new RankedSuggester(dictionary, generator, 10);
+        long probesBefore = generator.getProbeCount();
+        String[] all = top10.suggest("cqt", 2);
+        // The distance-1 pass is not repeated: one plain distance-2 search probes as much.
+        long suggestProbes = generator.getProbeCount() - probesBefore;
+        probesBefore = generator.getProbeCount();
+        generator.collect("cqt", 2, new GTUHashSet<>(16));
+        assertEquals(generator.getProbeCount() - probesBefore, suggestProbes);
+        String[] expected = {"cat", "cut", "car", "act", "coat", "cart"};
+        assertEquals(expected.length, all.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], all[i]);
+        }
+        assertEquals(0L, top10.getSkippedExpansions());
+
+        // "cta" is two substitutions from both "cat" and "cab", but only one swap from "cat", so
+        // cat outranks the more frequent cab.
+        GTUHashSet<String> swapWords = new GTUHashSet<>(4);
+        GTUHashMap<String, Long> swapFrequencies = new GTUHashMap<>(4);
+        swapWords.add("cat");
+        swapFrequencies.put("cat", 10L);
+        swapWords.add("cab");
+        swapFrequencies.put("cab", 900L);
+        HashSetDictionary swapDictionary = new HashSetDictionary(swapWords, swapFrequencies);
+        RankedSuggester top1 = new RankedSuggester(swapDictionary, new CandidateGenerator(swapDictionary), 1);
+        String[] swapped = top1.suggest("cta", 2);
+        assertEquals(1, swapped.length);
+        assertEquals("cat", swapped[0]);
+        System.out.println("RankedSuggester test passed!");
+    }
+
     // Test for SpellChecker (mocked simple test)
     public static void testSpellChecker() {
         SpellChecker checker = new SpellChecker();
@@ -0,0 +1,135 @@
+package SpellChecker;
+
+import java.util.Arrays;
+import HashSet.GTUHashSet;
+
+/**
+ * Burkhard-Keller tree over the dictionary words. Every child hangs under the distance it
+ * has to its parent, so a query within k of a node at distance d only has to visit the
+ * children in [d - k, d + k] (triangle inequality).
+ *
+ * The other engines answer in optimal string alignment distance (Levenshtein plus adjacent
+ * transpositions), but that is not a metric: with {"abc", "ca"} the tree would hang "ca"
+ * under "abc" at 3 and never visit it for "ac", which is 1 from "ca" and 2 from "abc". The
+ * tree is therefore keyed on unrestricted Damerau-Levenshtein distance, which is a metric
+ * and never larger, and the words it finds in range are checked again with optimal string
+ * alignment.
+ *
+ * Nodes live in parallel arrays and children form a sibling list, so the tree costs a
+ * few ints per word. Instances are not thread-safe.
+ */
+public class BKTree implements SuggestionEngine {
+
+    private static final int NONE = -1;
+
+    private String[] words;
+    private int[] edges;        // distance to the parent
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] maxChildEdge;
+    private int size;
+
+    private final EditDistance editDistance = new EditDistance();
+    private int[] stack = new int[64];
+    private long probeCount;
+
+    public BKTree(Dictionary dictionary) {
+        int capacity = Math.max(16, dictionary.size());
+        words = new String[capacity];
+        edges = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        maxChildEdge = new int[capacity];
+
+        for (String word : dictionary) {
+            add(word);
+        }
+    }
+
+    private void add(String word) {
+        if (size == 0) {
+            append(word, 0);
+            return;
+        }
+
+        int node = 0;
+        while (true) {
+            int d = editDistance.unrestrictedDamerauLevenshtein(word, words[node], Integer.MAX_VALUE - 1);
+            if (d == 0) return;
+
+            int child = firstChild[node];
+            while (child != NONE && edges[child] != d) {
+                child = nextSibling[child];
+            }
+            if (child == NONE) {
+                int added = append(word, d);
+                nextSibling[added] = firstChild[node];
+                firstChild[node] = added;
+                maxChildEdge[node] = Math.max(maxChildEdge[node], d);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    private int append(String word, int edge) {
+        if (size == words.length) {
+            int capacity = size * 2;
+            words = Arrays.copyOf(words, capacity);
+            edges = Arrays.copyOf(edges, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            maxChildEdge = Arrays.copyOf(maxChildEdge, capacity);
+        }
+        words[size] = word;
+        edges[size] = edge;
+        firstChild[size] = NONE;
+        nextSibling[size] = NONE;
+        maxChildEdge[size] = 0;
+        return size++;
+    }
+
+    /**
+     * Adds every word within maxDistance of word to found, except word itself. Distances
+     * count a transposition as one edit, so "teh" finds "the" at distance 1.
+     */
+    @Override
+    public void collect(String word, int maxDistance, GTUHashSet<String> found) {
+        if (size == 0) return;
+
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            probeCount++;
+            // Beyond this bound neither the node nor any of its children can be in range,
+            // so the distance computation may stop early.
+            int bound = maxDistance + maxChildEdge[node];
+            int d = editDistance.unrestrictedDamerauLevenshtein(word, words[node], bound);
+            if (d > 0 && d <= maxDistance
+                    && editDistance.damerauLevenshtein(word, words[node], maxDistance) <= maxDistance) {
+                found.add(words[node]);
+            }
+            if (d > bound) continue;
+
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (Math.abs(edges[child] - d) <= maxDistance) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    // Number of distance computations made by queries so far.
+    @Override
+    public long getProbeCount() {
+        return probeCount;
+    }
+
+    public int size() {
+        return size;
+    }
+}
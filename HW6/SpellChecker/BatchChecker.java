@@ -0,0 +1,105 @@
+package SpellChecker;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import HashSet.GTUHashSet;
+
+/**
+ * Checks every token of a text stream and writes one line per misspelled token. Correct
+ * tokens are looked up straight from the tokenizer buffer; with a SuggestionCache the
+ * suggestion line of a misspelling is kept, so a repeated typo costs one map lookup.
+ */
+public class BatchChecker {
+
+    private static final int SEEN_EXPECTED_SIZE = 64;
+
+    private final Dictionary dictionary;
+    private final SuggestionEngine engine;
+    private final int maxDistance;
+    private final SuggestionCache cache;
+    private final RankedSuggester ranked;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private long tokens;
+    private long skipped;
+    private long misspelled;
+    private long elapsedNanos;
+
+    /**
+     * cache may be null, then every misspelling is expanded again. With top > 0 only the
+     * best top suggestions are written, ranked by distance and frequency.
+     */
+    public BatchChecker(Dictionary dictionary, SuggestionEngine engine, int maxDistance, SuggestionCache cache, int top) {
+        this.dictionary = dictionary;
+        this.engine = engine;
+        this.maxDistance = maxDistance;
+        this.cache = cache;
+        this.ranked = top > 0 ? new RankedSuggester(dictionary, engine, top) : null;
+    }
+
+    // Checks all of in and writes "token: suggestions" lines to out, which is flushed at the end.
+    public void run(Reader in, Writer out) throws IOException {
+        Tokenizer tokenizer = new Tokenizer(in);
+        StringBuilder line = new StringBuilder();
+        long start = System.nanoTime();
+
+        while (tokenizer.next()) {
+            long tokenStart = System.nanoTime();
+            tokens++;
+            // Same rule as the interactive mode: tokens with digits are not words.
+            if (tokenizer.hasDigit()) {
+                skipped++;
+                continue;
+            }
+            if (dictionary.contains(tokenizer.chars(), tokenizer.length())) {
+                latencies.record(System.nanoTime() - tokenStart);
+                continue;
+            }
+
+            misspelled++;
+            String token = new String(tokenizer.chars(), 0, tokenizer.length());
+            String suggestions = cache == null ? null : cache.get(token);
+            if (suggestions == null) {
+                suggestions = suggest(token, line);
+                if (cache != null) cache.put(token, suggestions);
+            }
+            out.write(token);
+            out.write(": ");
+            out.write(suggestions);
+            out.write('\n');
+            latencies.record(System.nanoTime() - tokenStart);
+        }
+
+        out.flush();
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    private String suggest(String token, StringBuilder line) {
+        Iterable<String> found;
+        if (ranked != null) {
+            found = Arrays.asList(ranked.suggest(token, maxDistance));
+        } else {
+            GTUHashSet<String> all = new GTUHashSet<>(SEEN_EXPECTED_SIZE);
+            engine.collect(token, maxDistance, all);
+            found = all;
+        }
+
+        line.setLength(0);
+        for (String suggestion : found) {
+            if (line.length() > 0) line.append(", ");
+            line.append(suggestion);
+        }
+        return line.length() == 0 ? "(no suggestions)" : line.toString();
+    }
+
+    public void printStats() {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("Checked %d tokens in %.2f s: %.0f words/sec\n", tokens, seconds,
+                seconds == 0 ? 0 : tokens / seconds);
+        System.out.printf("Misspelled: %d, skipped with digits: %d\n", misspelled, skipped);
+        if (cache != null) cache.printStats();
+        latencies.print("Per-token latency");
+    }
+}
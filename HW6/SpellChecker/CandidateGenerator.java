@@ -0,0 +1,102 @@
+package SpellChecker;
+
+import HashSet.GTUHashSet;
+
+/**
+ * Generates the deletion, insertion and substitution candidates of a word inside reusable
+ * char buffers and probes the dictionary with them directly. A String is only created for
+ * a candidate that is a dictionary word not found before.
+ *
+ * One buffer is kept per edit distance, so expanding a distance-1 candidate to distance 2
+ * never overwrites the candidate being expanded. Instances are not thread-safe.
+ */
+public class CandidateGenerator implements SuggestionEngine {
+
+    private static final int MAX_DISTANCE = 2;
+
+    private final Dictionary dictionary;
+    private final char[][] buffers = new char[MAX_DISTANCE + 1][32];
+    private long probeCount;
+
+    public CandidateGenerator(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Adds every dictionary word within maxDistance edits of word to found. As before,
+     * distance-1 candidates shorter than two letters are not expanded further.
+     */
+    @Override
+    public void collect(String word, int maxDistance, GTUHashSet<String> found) {
+        char[] source = buffer(0, word.length());
+        word.getChars(0, word.length(), source, 0);
+        expand(source, word.length(), 1, 1, Math.min(maxDistance, MAX_DISTANCE), found);
+    }
+
+    // The distance-1 candidates are still expanded, but not looked up again.
+    @Override
+    public void collectBeyond(String word, GTUHashSet<String> close, int maxDistance, GTUHashSet<String> found) {
+        char[] source = buffer(0, word.length());
+        word.getChars(0, word.length(), source, 0);
+        expand(source, word.length(), 1, 2, Math.min(maxDistance, MAX_DISTANCE), found);
+    }
+
+    // Number of dictionary lookups made so far.
+    @Override
+    public long getProbeCount() {
+        return probeCount;
+    }
+
+    private char[] buffer(int depth, int length) {
+        if (buffers[depth].length < length) {
+            buffers[depth] = new char[Math.max(length, buffers[depth].length * 2)];
+        }
+        return buffers[depth];
+    }
+
+    // Candidates closer than firstDepth are expanded without being looked up.
+    private void expand(char[] source, int length, int depth, int firstDepth, int maxDistance, GTUHashSet<String> found) {
+        char[] candidate = buffer(depth, length + 1);
+
+        // Deletion
+        for (int i = 0; i < length; i++) {
+            System.arraycopy(source, 0, candidate, 0, i);
+            System.arraycopy(source, i + 1, candidate, i, length - i - 1);
+            visit(candidate, length - 1, depth, firstDepth, maxDistance, found);
+        }
+
+        // Insertion
+        for (int i = 0; i <= length; i++) {
+            System.arraycopy(source, 0, candidate, 0, i);
+            System.arraycopy(source, i, candidate, i + 1, length - i);
+            for (char c = 'a'; c <= 'z'; c++) {
+                candidate[i] = c;
+                visit(candidate, length + 1, depth, firstDepth, maxDistance, found);
+            }
+        }
+
+        // Substitution
+        for (int i = 0; i < length; i++) {
+            System.arraycopy(source, 0, candidate, 0, length);
+            for (char c = 'a'; c <= 'z'; c++) {
+                if (source[i] == c) continue;
+                candidate[i] = c;
+                visit(candidate, length, depth, firstDepth, maxDistance, found);
+            }
+        }
+    }
+
+    private void visit(char[] candidate, int length, int depth, int firstDepth, int maxDistance,
+                       GTUHashSet<String> found) {
+        if (depth >= firstDepth) {
+            probeCount++;
+            if (dictionary.contains(candidate, length) && !found.containsChars(candidate, length)) {
+                found.add(new String(candidate, 0, length));
+            }
+        }
+
+        if (depth < maxDistance && length >= 2) {
+            expand(candidate, length, depth + 1, firstDepth, maxDistance, found);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package SpellChecker;
+
+/**
+ * Read-only word list the spell checker looks candidates up in.
+ */
+public interface Dictionary extends Iterable<String> {
+
+    boolean contains(String word);
+
+    // contains() for the first length chars of a reusable buffer.
+    default boolean contains(char[] chars, int length) {
+        return contains(new String(chars, 0, length));
+    }
+
+    int size();
+
+    // How common word is, from the optional second column of dictionary.txt; 0 when unknown.
+    default long frequency(String word) {
+        return 0;
+    }
+
+    // Prints the per-query statistics shown after every lookup.
+    void printStats();
+}
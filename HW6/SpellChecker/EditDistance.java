@@ -0,0 +1,153 @@
+package SpellChecker;
+
+/**
+ * Bounded edit distance with reusable rows, so verifying many candidates does not allocate.
+ * Instances are not thread-safe.
+ */
+public class EditDistance {
+
+    private int[] previous = new int[32];
+    private int[] current = new int[32];
+    private int[] beforePrevious = new int[32];
+    private int[] matrix = new int[64];
+    private int[] lastRow = new int[32];
+
+    /**
+     * Levenshtein distance (insertion, deletion, substitution) between a and b, or max + 1
+     * as soon as it is known to exceed max.
+     */
+    public int levenshtein(CharSequence a, CharSequence b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) return max + 1;
+        ensureRows(m + 1);
+
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                current[j] = value;
+                if (value < rowMin) rowMin = value;
+            }
+            if (rowMin > max) return max + 1;
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return Math.min(previous[m], max + 1);
+    }
+
+    /**
+     * Optimal string alignment distance: Levenshtein where swapping two adjacent chars also
+     * counts as one edit. Returns max + 1 as soon as the distance is known to exceed max.
+     */
+    public int damerauLevenshtein(CharSequence a, CharSequence b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) return max + 1;
+        ensureRows(m + 1);
+
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+
+        int previousRowMin = 0;
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                if (value < rowMin) rowMin = value;
+            }
+            // A transposition can still reach back two rows, so both rows must be out of range.
+            if (rowMin > max && previousRowMin >= max) return max + 1;
+            previousRowMin = rowMin;
+
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return Math.min(previous[m], max + 1);
+    }
+
+    /**
+     * Unrestricted Damerau-Levenshtein distance: like optimal string alignment, but chars
+     * may still be inserted between a transposed pair, so "ca" -> "ac" -> "abc" costs 2
+     * where optimal string alignment needs 3. Unlike optimal string alignment this obeys
+     * the triangle inequality. Returns max + 1 if the distance exceeds max.
+     */
+    public int unrestrictedDamerauLevenshtein(CharSequence a, CharSequence b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) return max + 1;
+
+        // Row and column 0 are a border larger than any distance; the empty prefixes start at 1.
+        int width = m + 2;
+        if (matrix.length < (n + 2) * width) {
+            matrix = new int[(n + 2) * width];
+        }
+        // Per column j, the last row so far whose char of a equals b[j - 1], or 0.
+        if (lastRow.length < m + 1) {
+            lastRow = new int[m + 1];
+        }
+
+        int infinity = n + m + 1;
+        for (int j = 0; j <= m + 1; j++) {
+            matrix[j] = infinity;
+            matrix[width + j] = j - 1;
+        }
+        matrix[width] = infinity;
+        for (int j = 1; j <= m; j++) {
+            lastRow[j] = 0;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int row = (i + 1) * width;
+            matrix[row] = infinity;
+            matrix[row + 1] = i;
+            char ca = a.charAt(i - 1);
+            int lastColumn = 0;
+            for (int j = 1; j <= m; j++) {
+                int k = lastRow[j];
+                int l = lastColumn;
+                int cost = 1;
+                if (ca == b.charAt(j - 1)) {
+                    cost = 0;
+                    lastColumn = j;
+                }
+                int value = Math.min(Math.min(matrix[row - width + j] + cost, matrix[row + j] + 1), matrix[row - width + j + 1] + 1);
+                value = Math.min(value, matrix[k * width + l] + (i - k - 1) + 1 + (j - l - 1));
+                matrix[row + j + 1] = value;
+                if (cost == 0) lastRow[j] = i;
+            }
+        }
+
+        return Math.min(matrix[(n + 1) * width + m + 1], max + 1);
+    }
+
+    private void ensureRows(int length) {
+        if (previous.length < length) {
+            previous = new int[length];
+            current = new int[length];
+            beforePrevious = new int[length];
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package SpellChecker;
+
+import java.util.Iterator;
+import HashMap.GTUHashMap;
+import HashSet.BlockedBloomFilter;
+import HashSet.GTUHashSet;
+
+/**
+ * Dictionary backed by an in-memory GTUHashSet.
+ */
+public class HashSetDictionary implements Dictionary {
+
+    private final GTUHashSet<String> words;
+    private final GTUHashMap<String, Long> frequencies;
+
+    public HashSetDictionary(GTUHashSet<String> words) {
+        this(words, null);
+    }
+
+    // frequencies may be null or miss words, whose frequency is then 0.
+    public HashSetDictionary(GTUHashSet<String> words, GTUHashMap<String, Long> frequencies) {
+        this.words = words;
+        this.frequencies = frequencies;
+    }
+
+    public GTUHashSet<String> getWords() {
+        return words;
+    }
+
+    @Override
+    public boolean contains(String word) {
+        return words.contains(word);
+    }
+
+    @Override
+    public boolean contains(char[] chars, int length) {
+        return words.containsChars(chars, length);
+    }
+
+    @Override
+    public long frequency(String word) {
+        if (frequencies == null) return 0;
+        Long frequency = frequencies.get(word);
+        return frequency == null ? 0 : frequency;
+    }
+
+    @Override
+    public int size() {
+        return words.size();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return words.iterator();
+    }
+
+    @Override
+    public void printStats() {
+        System.out.printf("Collision count: %d\n", words.getCollisionCount());
+        BlockedBloomFilter filter = words.getBloomFilter();
+        // With stats off (a shared dictionary) the lookup counters stay 0, which would read as a
+        // measurement.
+        if (!words.isStatsEnabled()) {
+            System.out.println("Skipped equals calls: n/a (stats disabled)");
+            if (filter != null) {
+                System.out.printf("Bloom filter: n/a (stats disabled) (%.4f target, %.2f MB)\n",
+                        filter.getFalsePositiveRate(), filter.getFootprint() / (1024.0 * 1024.0));
+            }
+        } else {
+            System.out.printf("Skipped equals calls: %d\n", words.getSkippedEqualsCount());
+            if (filter != null) {
+                System.out.printf("Bloom filter: %d hits, %d rejects, %d false positives (%.4f observed, %.4f target, %.2f MB)\n",
+                        filter.getHits(), filter.getRejects(), filter.getFalsePositives(),
+                        filter.getObservedFalsePositiveRate(), filter.getFalsePositiveRate(),
+                        filter.getFootprint() / (1024.0 * 1024.0));
+            }
+        }
+        words.printMemoryUsage();
+    }
+}
@@ -0,0 +1,58 @@
+package SpellChecker;
+
+/**
+ * Latency histogram with power-of-two nanosecond buckets: bucket b holds samples
+ * in [2^b, 2^(b+1)) ns. Recording is a couple of instructions, so it can sit
+ * inside a measured loop.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long max;
+    private long sum;
+
+    public void record(long nanos) {
+        int bucket = nanos <= 1 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+        counts[Math.min(bucket, BUCKETS - 1)]++;
+        total++;
+        sum += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public double getMean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    // Upper bound of the bucket that contains the given percentile.
+    public long getPercentile(double percentile) {
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank && counts[b] > 0) {
+                return Math.min(1L << (b + 1), max);
+            }
+        }
+        return max;
+    }
+
+    public void print(String title) {
+        System.out.printf("%s: %d samples, mean %.0f ns, p50 <= %d ns, p99 <= %d ns, p99.9 <= %d ns, max %d ns\n",
+                title, total, getMean(), getPercentile(50), getPercentile(99), getPercentile(99.9), max);
+        for (int b = 0; b < BUCKETS; b++) {
+            if (counts[b] == 0) continue;
+            System.out.printf("  [%10d, %10d) ns: %d\n", 1L << b, 1L << (b + 1), counts[b]);
+        }
+    }
+}
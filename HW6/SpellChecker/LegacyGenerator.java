@@ -0,0 +1,102 @@
+package SpellChecker;
+
+import GTUList.GTUArrayList;
+import HashSet.GTUHashSet;
+
+/**
+ * The original suggestion code: every distance-1 variant is built as a String and kept in
+ * a list, then each one is expanded again for distance 2.
+ */
+public class LegacyGenerator implements SuggestionEngine {
+
+    private final Dictionary dictionary;
+    private long probeCount;
+
+    public LegacyGenerator(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public void collect(String word, int maxDistance, GTUHashSet<String> seen) {
+        // Edit Distance 1 
+        GTUArrayList<String> edit1Set = generateEditDistance1(word, seen);
+        if (maxDistance < 2) return;
+
+        for (String ed1 : edit1Set) {
+            if (ed1 == null || ed1.length() < 2) continue;
+            generateEditDistance2(ed1, seen); 
+        }
+    }
+
+    @Override
+    public long getProbeCount() {
+        return probeCount;
+    }
+
+    private boolean contains(String word) {
+        probeCount++;
+        return dictionary.contains(word);
+    }
+
+    private void generateEditDistance2(String word, GTUHashSet<String> seen) {
+        int len = word.length();
+
+        for (int i = 0; i < len; i++) {
+            String del = word.substring(0, i) + word.substring(i + 1); // Deletion
+            if (!seen.contains(del) && contains(del)) { 
+                seen.add(del); 
+            }
+        }
+
+        for (int i = 0; i <= len; i++) {
+            for (char c = 'a'; c <= 'z'; c++) {
+                String ins = word.substring(0, i) + c + word.substring(i); // Insertion
+                if (!seen.contains(ins) && contains(ins)) { 
+                    seen.add(ins); 
+                }
+            }
+        }
+
+        for (int i = 0; i < len; i++) {
+            for (char c = 'a'; c <= 'z'; c++) {
+                if (word.charAt(i) != c) { 
+                    String sub = word.substring(0, i) + c + word.substring(i + 1); // Substitution
+                    if (!seen.contains(sub) && contains(sub)) { 
+                        seen.add(sub); 
+                    }
+                }
+            }
+        }
+    }
+
+    private GTUArrayList<String> generateEditDistance1(String word, GTUHashSet<String> seen) {
+        GTUArrayList<String> variants = new GTUArrayList<>();
+        int len = word.length();
+
+        // Deletion 
+        for (int i = 0; i < len; i++) {
+            String del = word.substring(0, i) + word.substring(i + 1); // Deletion
+            variants.add(del); 
+            if (contains(del)) { 
+                seen.add(del); 
+            }
+
+            for (char c = 'a'; c <= 'z'; c++) {
+                String ins = word.substring(0, i) + c + word.substring(i); // Insertion
+                variants.add(ins); 
+                if (contains(ins)) { 
+                    seen.add(ins); 
+                }
+                if (word.charAt(i) != c) { 
+                    String sub = word.substring(0, i) + c + word.substring(i + 1); // Substitution
+                    variants.add(sub); 
+                    if (contains(sub)) { 
+                        seen.add(sub); 
+                    }
+                }
+            }
+        }
+
+        return variants;
+    }
+}
@@ -0,0 +1,264 @@
+package SpellChecker;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import HashSet.GTUHashSet;
+
+/**
+ * Dictionary answered straight from a prebuilt, memory-mapped image file, so startup
+ * does not rebuild a hash table and several processes share the same page cache.
+ *
+ * Image layout (big-endian):
+ *   header:  magic, version, word count, slot count, pool size       (5 ints)
+ *            length and modification time of the source word list   (2 longs)
+ *   slots:   slot count x (hash, pool offset + 1), 0 marks an empty slot (linear probing)
+ *   pool:    for every word its UTF-8 length as an unsigned short, then the bytes
+ */
+public class MappedDictionary implements Dictionary {
+
+    private static final int MAGIC = 0x47545544;  // "GTUD"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 5 * 4 + 2 * 8;
+    private static final int SLOT_BYTES = 8;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final MappedByteBuffer image;
+    private final int size;
+    private final int mask;
+    private final int poolStart;
+    private final int poolSize;
+
+    private MappedDictionary(MappedByteBuffer image) throws IOException {
+        if (image.capacity() < HEADER_BYTES || image.getInt(0) != MAGIC) {
+            throw new IOException("Not a dictionary image.");
+        }
+        if (image.getInt(4) != VERSION) {
+            throw new IOException("Image format " + image.getInt(4) + " is not " + VERSION + ".");
+        }
+        this.image = image;
+        size = image.getInt(8);
+        int slotCount = image.getInt(12);
+        poolSize = image.getInt(16);
+        mask = slotCount - 1;
+        poolStart = HEADER_BYTES + slotCount * SLOT_BYTES;
+        if (poolStart + poolSize != image.capacity()) {
+            throw new IOException("Dictionary image is truncated.");
+        }
+    }
+
+    public static MappedDictionary open(String path) throws IOException {
+        // The mapping stays valid after the channel is closed.
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            return new MappedDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Serializes the words of a loaded dictionary into an image file, recording the length
+     * and modification time of source, the word list they were read from.
+     */
+    public static void write(GTUHashSet<String> words, File source, String path) throws IOException {
+        int count = words.size();
+        int slotCount = 16;
+        while (slotCount * LOAD_FACTOR < count) {
+            slotCount *= 2;
+        }
+        int slotMask = slotCount - 1;
+
+        int[] slotHashes = new int[slotCount];
+        int[] slotOffsets = new int[slotCount];
+        byte[] pool = new byte[1024];
+        int poolLength = 0;
+
+        for (String word : words) {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) throw new IOException("Word too long for the image: " + word);
+
+            if (poolLength + 2 + bytes.length > pool.length) {
+                byte[] grown = new byte[Math.max(pool.length * 2, poolLength + 2 + bytes.length)];
+                System.arraycopy(pool, 0, grown, 0, poolLength);
+                pool = grown;
+            }
+
+            int hash = hash(word.hashCode());
+            int index = hash & slotMask;
+            while (slotOffsets[index] != 0) {
+                index = (index + 1) & slotMask;
+            }
+            slotHashes[index] = hash;
+            slotOffsets[index] = poolLength + 1;
+
+            pool[poolLength++] = (byte) (bytes.length >>> 8);
+            pool[poolLength++] = (byte) bytes.length;
+            System.arraycopy(bytes, 0, pool, poolLength, bytes.length);
+            poolLength += bytes.length;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            out.writeInt(slotCount);
+            out.writeInt(poolLength);
+            out.writeLong(source.length());
+            out.writeLong(source.lastModified());
+            for (int i = 0; i < slotCount; i++) {
+                out.writeInt(slotHashes[i]);
+                out.writeInt(slotOffsets[i]);
+            }
+            out.write(pool, 0, poolLength);
+        }
+    }
+
+    /**
+     * True if the image at path has to be written again: it has an older format, or source
+     * has a different length or modification time than when the image was written from it.
+     * Throws if path is not a dictionary image at all.
+     */
+    public static boolean isStale(String path, File source) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            int read = 0;
+            while (header.hasRemaining() && read >= 0) {
+                read = channel.read(header);
+            }
+        }
+        if (header.position() < 8 || header.getInt(0) != MAGIC) {
+            throw new IOException("Not a dictionary image.");
+        }
+        return header.getInt(4) != VERSION || header.hasRemaining()
+                || header.getLong(20) != source.length() || header.getLong(28) != source.lastModified();
+    }
+
+    // String.hashCode() finished with the murmur3 mixer, so masking the low bits spreads well.
+    private static int hash(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    @Override
+    public boolean contains(String word) {
+        return find(hash(word.hashCode()), word);
+    }
+
+    // Hashes the buffer like String.hashCode(); a CharBuffer view is only created when a slot hash matches.
+    @Override
+    public boolean contains(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+
+        int hash = hash(h);
+        int index = hash & mask;
+        CharBuffer word = null;
+        while (true) {
+            int slot = HEADER_BYTES + index * SLOT_BYTES;
+            int offset = image.getInt(slot + 4);
+            if (offset == 0) return false;
+            if (image.getInt(slot) == hash) {
+                if (word == null) word = CharBuffer.wrap(chars, 0, length);
+                if (wordEquals(poolStart + offset - 1, word)) return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private boolean find(int hash, CharSequence word) {
+        int index = hash & mask;
+
+        while (true) {
+            int slot = HEADER_BYTES + index * SLOT_BYTES;
+            int offset = image.getInt(slot + 4);
+            if (offset == 0) return false;
+            if (image.getInt(slot) == hash && wordEquals(poolStart + offset - 1, word)) return true;
+            index = (index + 1) & mask;
+        }
+    }
+
+    // Compares the pooled word at position with the chars of word, decoding UTF-8 on the fly.
+    private boolean wordEquals(int position, CharSequence word) {
+        int end = position + 2 + (image.getShort(position) & 0xFFFF);
+        int p = position + 2;
+        int i = 0;
+        int length = word.length();
+
+        while (p < end) {
+            int b = image.get(p) & 0xFF;
+            int codePoint;
+            if (b < 0x80) {
+                codePoint = b;
+                p += 1;
+            } else if ((b >> 5) == 0x6) {
+                codePoint = ((b & 0x1F) << 6) | (image.get(p + 1) & 0x3F);
+                p += 2;
+            } else if ((b >> 4) == 0xE) {
+                codePoint = ((b & 0x0F) << 12) | ((image.get(p + 1) & 0x3F) << 6) | (image.get(p + 2) & 0x3F);
+                p += 3;
+            } else {
+                codePoint = ((b & 0x07) << 18) | ((image.get(p + 1) & 0x3F) << 12)
+                        | ((image.get(p + 2) & 0x3F) << 6) | (image.get(p + 3) & 0x3F);
+                p += 4;
+            }
+
+            if (Character.isBmpCodePoint(codePoint)) {
+                if (i >= length || word.charAt(i++) != codePoint) return false;
+            } else {
+                if (i + 1 >= length
+                        || word.charAt(i++) != Character.highSurrogate(codePoint)
+                        || word.charAt(i++) != Character.lowSurrogate(codePoint)) return false;
+            }
+        }
+        return i == length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Walks the string pool in file order.
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int position = poolStart;
+
+            public boolean hasNext() {
+                return position < poolStart + poolSize;
+            }
+
+            public String next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                int length = image.getShort(position) & 0xFFFF;
+                byte[] bytes = new byte[length];
+                image.get(position + 2, bytes);
+                position += 2 + length;
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    @Override
+    public void printStats() {
+        long usedMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        System.out.printf("Total memory used: %.2f MB\n", usedMemory / (1024.0 * 1024.0));
+        System.out.printf("Mapped image: %.2f MB (%d words, %d slots)\n",
+                image.capacity() / (1024.0 * 1024.0), size, mask + 1);
+    }
+}
@@ -0,0 +1,201 @@
+package SpellChecker;
+
+import HashMap.CapacityPolicy;
+import HashMap.GTUConcurrentHashMap;
+import HashMap.GTUHashMap;
+import HashMap.GTUMap;
+import HashMap.GTURobinHoodHashMap;
+import HashMap.GTUStringArenaMap;
+
+/**
+ * Command line options of SpellChecker, e.g. {@code -map robinhood -image dictionary.img}.
+ */
+public class Options {
+
+    // One of MAP_TYPES: "quadratic", "pow2", "robinhood", "concurrent", or "arena" for words
+    // kept off-heap as UTF-8.
+    public String mapType = "quadratic";
+    public static final String[] MAP_TYPES = {"quadratic", "pow2", "robinhood", "concurrent", "arena"};
+    // "hashset" keeps the words in a GTUHashSet built with mapType, "trie" in a TrieDictionary.
+    public String dictionaryType = "hashset";
+    // Prebuilt dictionary image to map at startup; written from dictionary.txt if it does not exist yet.
+    public String imagePath;
+    public static final String[] ENGINES = {"buffer", "legacy", "symspell", "bktree", "trie", "parallel"};
+
+    // Suggestion engine, one of ENGINES: "buffer" probes candidates from reusable char buffers,
+    // "legacy" builds every candidate as a String, "symspell" looks deletes up in a prebuilt
+    // index, "bktree" searches a BK-tree with transpositions counted as one edit and "trie"
+    // walks a DAWG of the words with a Levenshtein row per level. "parallel" is "buffer" with
+    // the distance-2 expansion of long words spread over a ForkJoin pool.
+    public String engine = "buffer";
+    // Text file to check in batch mode instead of reading words interactively.
+    public String batchPath;
+    // Eviction policy of the suggestion cache ("lru", "lfu" or "off") and its budgets.
+    public String cachePolicy = "lru";
+    public int cacheEntries = 10000;
+    public long cacheBytes = 16L * 1024 * 1024;
+    // Print only the best k suggestions by (distance, frequency); 0 prints all of them unranked.
+    public int top;
+    // Worker threads of the parallel engine.
+    public int threads = Runtime.getRuntime().availableProcessors();
+    // Max distance the SymSpell delete index is built for.
+    public int symSpellDistance = 2;
+    // Also answer every query with the SymSpell index (-symspell) or with all other engines
+    // (-compare) and print their latency.
+    public boolean compareSymSpell;
+    public boolean compare;
+    // Target false-positive rate of a Bloom filter in front of the hashset dictionary, 0 for none.
+    public double bloomFalsePositiveRate;
+
+    public static Options parse(String[] args) {
+        Options options = new Options();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-map":
+                    options.mapType = value(args, ++i);
+                    if (!isOneOf(options.mapType, MAP_TYPES)) {
+                        throw new IllegalArgumentException("Unknown map type: " + options.mapType);
+                    }
+                    break;
+                case "-dict":
+                    options.dictionaryType = value(args, ++i);
+                    if (!options.dictionaryType.equals("hashset") && !options.dictionaryType.equals("trie")) {
+                        throw new IllegalArgumentException("Unknown dictionary type: " + options.dictionaryType);
+                    }
+                    break;
+                case "-image":
+                    options.imagePath = value(args, ++i);
+                    break;
+                case "-engine":
+                case "-gen":
+                    options.engine = value(args, ++i);
+                    if (!isOneOf(options.engine, ENGINES)) {
+                        throw new IllegalArgumentException("Unknown engine: " + options.engine);
+                    }
+                    break;
+                case "-symspell":
+                    options.symSpellDistance = intValue(args, ++i);
+                    if (options.symSpellDistance < 1) {
+                        throw new IllegalArgumentException("SymSpell distance must be positive: " + options.symSpellDistance);
+                    }
+                    options.compareSymSpell = true;
+                    break;
+                case "-bloom":
+                    String rate = value(args, ++i);
+                    try {
+                        options.bloomFalsePositiveRate = Double.parseDouble(rate);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Not a number for -bloom: " + rate);
+                    }
+                    if (!(options.bloomFalsePositiveRate > 0 && options.bloomFalsePositiveRate < 1)) {
+                        throw new IllegalArgumentException("Bloom false-positive rate must be between 0 and 1: " + rate);
+                    }
+                    break;
+                case "-threads":
+                    options.threads = intValue(args, ++i);
+                    if (options.threads < 1) {
+                        throw new IllegalArgumentException("Thread count must be positive: " + options.threads);
+                    }
+                    break;
+                case "-batch":
+                    options.batchPath = value(args, ++i);
+                    break;
+                case "-cache":
+                    options.cachePolicy = value(args, ++i);
+                    if (!options.cachePolicy.equals("lru") && !options.cachePolicy.equals("lfu")
+                            && !options.cachePolicy.equals("off")) {
+                        throw new IllegalArgumentException("Unknown cache policy: " + options.cachePolicy);
+                    }
+                    break;
+                case "-cache-entries":
+                    options.cacheEntries = intValue(args, ++i);
+                    if (options.cacheEntries < 1) {
+                        throw new IllegalArgumentException("Cache entry budget must be positive: " + options.cacheEntries);
+                    }
+                    break;
+                case "-cache-bytes":
+                    options.cacheBytes = longValue(args, ++i);
+                    if (options.cacheBytes < 1) {
+                        throw new IllegalArgumentException("Cache byte budget must be positive: " + options.cacheBytes);
+                    }
+                    break;
+                case "-top":
+                    options.top = intValue(args, ++i);
+                    if (options.top < 0) {
+                        throw new IllegalArgumentException("-top cannot be negative: " + options.top);
+                    }
+                    break;
+                case "-compare":
+                    options.compare = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (options.imagePath != null && options.dictionaryType.equals("trie")) {
+            throw new IllegalArgumentException("-image is only supported for the hashset dictionary.");
+        }
+        if (options.bloomFalsePositiveRate > 0 && (options.imagePath != null || options.dictionaryType.equals("trie"))) {
+            throw new IllegalArgumentException("-bloom is only supported for the in-memory hashset dictionary.");
+        }
+        return options;
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    private static boolean isOneOf(String name, String[] names) {
+        for (String known : names) {
+            if (known.equals(name)) return true;
+        }
+        return false;
+    }
+
+    private static int intValue(String[] args, int i) {
+        String text = value(args, i);
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number for " + args[i - 1] + ": " + text);
+        }
+    }
+
+    private static long longValue(String[] args, int i) {
+        String text = value(args, i);
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number for " + args[i - 1] + ": " + text);
+        }
+    }
+
+    // The configured suggestion cache, or null with -cache off.
+    public SuggestionCache createCache() {
+        if (cachePolicy.equals("off")) return null;
+        SuggestionCache.Policy policy = cachePolicy.equals("lfu") ? SuggestionCache.Policy.LFU : SuggestionCache.Policy.LRU;
+        return new SuggestionCache(policy, cacheEntries, cacheBytes);
+    }
+
+    public GTUMap<String, Object> createMap() {
+        switch (mapType) {
+            case "quadratic":
+                return new GTUHashMap<>();
+            case "pow2":
+                return new GTUHashMap<>(CapacityPolicy.POWER_OF_TWO);
+            case "robinhood":
+                return new GTURobinHoodHashMap<>();
+            case "concurrent":
+                return new GTUConcurrentHashMap<>();
+            case "arena":
+                return new GTUStringArenaMap<>();
+            default:
+                throw new IllegalArgumentException("Unknown map type: " + mapType);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package SpellChecker;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import HashSet.GTUHashSet;
+
+/**
+ * Runs the distance-2 expansion of long words on a ForkJoin pool. The distinct distance-1
+ * variants are built once on the calling thread, then split into ranges; every worker
+ * expands its range with its own CandidateGenerator (the buffers are per thread) and the
+ * partial results are merged on the way back up. The union is exactly what the sequential
+ * CandidateGenerator finds: the distance-1 hits plus the distance-1 neighbours of every
+ * variant of at least two letters.
+ *
+ * The dictionary is shared by all workers and only read. Its lookup counters must be
+ * turned off first (see GTUHashSet.setStatsEnabled()), since workers would race on them;
+ * probes are counted per worker generator and summed in a LongAdder instead.
+ */
+public class ParallelCandidateGenerator implements SuggestionEngine {
+
+    // Variants per leaf task; one variant costs about 52n probes.
+    private static final int LEAF_SIZE = 8;
+
+    private final Dictionary dictionary;
+    private final ForkJoinPool pool;
+    private final int minLength;
+    private final CandidateGenerator sequential;
+    private final ThreadLocal<CandidateGenerator> generators;
+    private final LongAdder probeCount = new LongAdder();
+
+    /**
+     * Words shorter than minLength are not worth the fork overhead and are expanded on the
+     * calling thread. The pool's threads run until close() is called.
+     */
+    public ParallelCandidateGenerator(Dictionary dictionary, int threads, int minLength) {
+        if (threads < 1) throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        if (minLength < 0) throw new IllegalArgumentException("Minimum length must not be negative: " + minLength);
+        this.dictionary = dictionary;
+        this.pool = new ForkJoinPool(threads);
+        this.minLength = minLength;
+        this.sequential = new CandidateGenerator(dictionary);
+        this.generators = ThreadLocal.withInitial(() -> new CandidateGenerator(dictionary));
+    }
+
+    @Override
+    public void collect(String word, int maxDistance, GTUHashSet<String> found) {
+        if (word.length() < minLength || maxDistance < 2) {
+            long before = sequential.getProbeCount();
+            sequential.collect(word, maxDistance, found);
+            probeCount.add(sequential.getProbeCount() - before);
+            return;
+        }
+
+        String[] variants = distanceOneVariants(word, found);
+        GTUHashSet<String> expanded = pool.invoke(new Expand(variants, 0, variants.length));
+        found.addAll(expanded);
+    }
+
+    // close already answers the distance-1 lookups, so only the expansion runs.
+    @Override
+    public void collectBeyond(String word, GTUHashSet<String> close, int maxDistance, GTUHashSet<String> found) {
+        if (word.length() < minLength || maxDistance < 2) {
+            long before = sequential.getProbeCount();
+            sequential.collectBeyond(word, close, maxDistance, found);
+            probeCount.add(sequential.getProbeCount() - before);
+            return;
+        }
+
+        String[] variants = distanceOneVariants(word, null);
+        GTUHashSet<String> expanded = pool.invoke(new Expand(variants, 0, variants.length));
+        found.addAll(expanded);
+    }
+
+    // The distinct deletions, insertions and substitutions of word; unless found is null, the
+    // ones in the dictionary go to found.
+    private String[] distanceOneVariants(String word, GTUHashSet<String> found) {
+        int len = word.length();
+        // len deletions, 26 * (len + 1) insertions and 25 * len substitutions.
+        GTUHashSet<String> distinct = new GTUHashSet<>(52 * len + 26);
+        String[] variants = new String[52 * len + 26];
+        int count = 0;
+
+        char[] chars = new char[len + 1];
+        for (int i = 0; i < len; i++) {
+            word.getChars(0, i, chars, 0);
+            word.getChars(i + 1, len, chars, i);
+            count = addVariant(new String(chars, 0, len - 1), distinct, variants, count, found);
+        }
+        for (int i = 0; i <= len; i++) {
+            word.getChars(0, i, chars, 0);
+            word.getChars(i, len, chars, i + 1);
+            for (char c = 'a'; c <= 'z'; c++) {
+                chars[i] = c;
+                count = addVariant(new String(chars, 0, len + 1), distinct, variants, count, found);
+            }
+        }
+        for (int i = 0; i < len; i++) {
+            word.getChars(0, len, chars, 0);
+            for (char c = 'a'; c <= 'z'; c++) {
+                if (word.charAt(i) == c) continue;
+                chars[i] = c;
+                count = addVariant(new String(chars, 0, len), distinct, variants, count, found);
+            }
+        }
+
+        String[] result = new String[count];
+        System.arraycopy(variants, 0, result, 0, count);
+        return result;
+    }
+
+    private int addVariant(String variant, GTUHashSet<String> distinct, String[] variants, int count,
+                           GTUHashSet<String> found) {
+        if (distinct.contains(variant)) return count;
+        distinct.add(variant);
+
+        if (found != null) {
+            probeCount.increment();
+            if (dictionary.contains(variant)) found.add(variant);
+        }
+        // As in the sequential generator, one-letter variants are not expanded.
+        if (variant.length() >= 2) variants[count++] = variant;
+        return count;
+    }
+
+    private class Expand extends RecursiveTask<GTUHashSet<String>> {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] variants;
+        private final int from;
+        private final int to;
+
+        Expand(String[] variants, int from, int to) {
+            this.variants = variants;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GTUHashSet<String> compute() {
+            if (to - from <= LEAF_SIZE) {
+                CandidateGenerator generator = generators.get();
+                long before = generator.getProbeCount();
+                GTUHashSet<String> found = new GTUHashSet<>(16);
+                for (int i = from; i < to; i++) {
+                    generator.collect(variants[i], 1, found);
+                }
+                probeCount.add(generator.getProbeCount() - before);
+                return found;
+            }
+
+            int mid = (from + to) >>> 1;
+            Expand left = new Expand(variants, from, mid);
+            left.fork();
+            GTUHashSet<String> right = new Expand(variants, mid, to).compute();
+            GTUHashSet<String> merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+
+    @Override
+    public long getProbeCount() {
+        return probeCount.sum();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // Shuts the pool down; a query already running still completes.
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,146 @@
+package SpellChecker;
+
+import HashSet.GTUHashSet;
+
+/**
+ * Returns the k best suggestions of an engine ordered by edit distance, then by word
+ * frequency (higher first), then alphabetically. Distances are optimal string alignment,
+ * so a candidate two substitutions away that is really one swap of adjacent letters ranks
+ * with the distance-1 words. The engine is asked for distance 1 first;
+ * when that already yields k words the distance-2 expansion is skipped entirely, otherwise
+ * only the words beyond distance 1 are asked for next.
+ *
+ * The k best are kept in a bounded binary heap whose root is the worst kept suggestion,
+ * so each candidate costs at most one comparison with the root and O(log k) to replace it.
+ * Instances are not thread-safe.
+ */
+public class RankedSuggester {
+
+    private static final int SEEN_EXPECTED_SIZE = 64;
+
+    private final Dictionary dictionary;
+    private final SuggestionEngine engine;
+    private final int k;
+    private final EditDistance editDistance = new EditDistance();
+
+    // The heap: heapWords[0] is the worst of the kept suggestions.
+    private final String[] heapWords;
+    private final int[] heapDistances;
+    private final long[] heapFrequencies;
+    private int heapSize;
+
+    private long skippedExpansions;
+
+    public RankedSuggester(Dictionary dictionary, SuggestionEngine engine, int k) {
+        if (k < 1) throw new IllegalArgumentException("k must be positive: " + k);
+        this.dictionary = dictionary;
+        this.engine = engine;
+        this.k = k;
+        heapWords = new String[k];
+        heapDistances = new int[k];
+        heapFrequencies = new long[k];
+    }
+
+    // Up to k suggestions within maxDistance of word, best first.
+    public String[] suggest(String word, int maxDistance) {
+        heapSize = 0;
+
+        GTUHashSet<String> close = new GTUHashSet<>(SEEN_EXPECTED_SIZE);
+        engine.collect(word, 1, close);
+        for (String candidate : close) {
+            offer(candidate, 1);
+        }
+
+        if (maxDistance >= 2 && close.size() < k) {
+            // Only the words beyond distance 1 are missing; the engine may reuse what close answered.
+            GTUHashSet<String> all = new GTUHashSet<>(SEEN_EXPECTED_SIZE);
+            engine.collectBeyond(word, close, maxDistance, all);
+            for (String candidate : all) {
+                if (close.contains(candidate)) continue;
+                offer(candidate, editDistance.damerauLevenshtein(word, candidate, maxDistance));
+            }
+        } else if (maxDistance >= 2) {
+            skippedExpansions++;
+        }
+
+        // Popping the worst first fills the result from the back.
+        String[] result = new String[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = heapWords[0];
+            removeRoot();
+        }
+        return result;
+    }
+
+    // Number of queries whose distance-2 expansion was skipped because distance 1 gave k words.
+    public long getSkippedExpansions() {
+        return skippedExpansions;
+    }
+
+    private void offer(String word, int distance) {
+        long frequency = dictionary.frequency(word);
+        if (heapSize < k) {
+            heapWords[heapSize] = word;
+            heapDistances[heapSize] = distance;
+            heapFrequencies[heapSize] = frequency;
+            siftUp(heapSize++);
+        } else if (worse(heapWords[0], heapDistances[0], heapFrequencies[0], word, distance, frequency)) {
+            heapWords[0] = word;
+            heapDistances[0] = distance;
+            heapFrequencies[0] = frequency;
+            siftDown(0);
+        }
+    }
+
+    // True when suggestion a ranks below suggestion b.
+    private static boolean worse(String a, int distanceA, long frequencyA, String b, int distanceB, long frequencyB) {
+        if (distanceA != distanceB) return distanceA > distanceB;
+        if (frequencyA != frequencyB) return frequencyA < frequencyB;
+        return a.compareTo(b) > 0;
+    }
+
+    private boolean worse(int i, int j) {
+        return worse(heapWords[i], heapDistances[i], heapFrequencies[i], heapWords[j], heapDistances[j], heapFrequencies[j]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!worse(i, parent)) return;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= heapSize) return;
+            int child = left + 1 < heapSize && worse(left + 1, left) ? left + 1 : left;
+            if (!worse(child, i)) return;
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void removeRoot() {
+        heapSize--;
+        heapWords[0] = heapWords[heapSize];
+        heapDistances[0] = heapDistances[heapSize];
+        heapFrequencies[0] = heapFrequencies[heapSize];
+        heapWords[heapSize] = null;
+        siftDown(0);
+    }
+
+    private void swap(int i, int j) {
+        String word = heapWords[i];
+        heapWords[i] = heapWords[j];
+        heapWords[j] = word;
+        int distance = heapDistances[i];
+        heapDistances[i] = heapDistances[j];
+        heapDistances[j] = distance;
+        long frequency = heapFrequencies[i];
+        heapFrequencies[i] = heapFrequencies[j];
+        heapFrequencies[j] = frequency;
+    }
+}
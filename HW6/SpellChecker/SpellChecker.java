@@ -1,30 +1,66 @@
 package SpellChecker;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.lang.management.ManagementFactory;
 import java.util.Scanner;
 import GTUList.GTUArrayList;
+import HashMap.GTUHashMap;
 import HashSet.GTUHashSet;
 
 public class SpellChecker {
 
+    private static final int SEEN_EXPECTED_SIZE = 64;
+    private static final int MAX_DISTANCE = 2;
+    // Shorter words are expanded on the calling thread even by the parallel engine.
+    private static final int PARALLEL_MIN_LENGTH = 10;
+
     public static void main(String[] args) {
-        GTUHashSet<String> dictionary = new GTUHashSet<>();
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
         System.out.println("Dictionary loaded..");
 
         long dictStart = System.nanoTime();
-        try (BufferedReader reader = new BufferedReader(new FileReader("dictionary.txt"))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                dictionary.add(line.trim().toLowerCase());
+        Dictionary dictionary = loadDictionary(options);
+        if (dictionary == null) return;
+        long dictEnd = System.nanoTime();
+        System.out.printf("Dictionary loaded %.2f ms'.\n", (dictEnd - dictStart) / 1e6);
+
+        SuggestionEngine engine = createEngine(options.engine, dictionary, options);
+
+        // Engines answering every query a second time, only to report their latency.
+        String[] comparedNames = new String[Options.ENGINES.length];
+        SuggestionEngine[] compared = new SuggestionEngine[Options.ENGINES.length];
+        int comparedCount = 0;
+        for (String name : Options.ENGINES) {
+            boolean wanted = options.compare || (options.compareSymSpell && name.equals("symspell"));
+            if (wanted && !name.equals(options.engine)) {
+                comparedNames[comparedCount] = name;
+                compared[comparedCount++] = createEngine(name, dictionary, options);
             }
-        } catch (IOException e) {
-            System.err.println("dictionary.txt cannot be read.");
+        }
+        SuggestionCache cache = options.createCache();
+        if (options.batchPath != null) {
+            runBatch(options.batchPath, dictionary, engine, cache, options.top);
+            closeEngines(engine, compared, comparedCount);
             return;
         }
-        long dictEnd = System.nanoTime();
-        System.out.printf("Dictionary loaded %.2f ms'.\n", (dictEnd - dictStart) / 1e6);
+        RankedSuggester ranked = options.top > 0 ? new RankedSuggester(dictionary, engine, options.top) : null;
 
         Scanner scanner = new Scanner(System.in);
 
@@ -38,105 +74,205 @@ public class SpellChecker {
                 System.out.println("Exitting...");
                 break;
             }
-             if (input.matches(".*\\d.*")) {
+             if (Tokenizer.containsDigit(input)) {
                 System.err.println("Error: Input contains digits. Please enter a valid word.");
                 continue;
             }
 
             long start = System.nanoTime();
+            long allocatedBefore = allocatedBytes();
+            long probesBefore = engine.getProbeCount();
 
-            if (dictionary.contains(input)) {
+            boolean correct = dictionary.contains(input);
+            if (correct) {
                 System.out.println("Correct.");
             } else {
                 System.out.println("False. Suggestions:");
-                GTUHashSet<String> seen = new GTUHashSet<>();
-
-                // Edit Distance 1 
-                GTUArrayList<String> edit1Set = generateEditDistance1(input, dictionary, seen);
-                
-                for (String ed1 : edit1Set) {
-                    if (ed1 == null || ed1.length() < 2) continue;
-                    generateEditDistance2(ed1, dictionary, seen); 
-                }
+                String line = cache == null ? null : cache.get(input);
+                if (line == null && ranked != null) {
+                    line = String.join(", ", ranked.suggest(input, MAX_DISTANCE));
+                    if (cache != null) cache.put(input, line);
+                } else if (line == null) {
+                    GTUHashSet<String> seen = new GTUHashSet<>(SEEN_EXPECTED_SIZE);
+                    engine.collect(input, MAX_DISTANCE, seen);
 
-               
-                StringBuilder sb = new StringBuilder();
-                int i = 0;
-                for (String suggestion : seen) {
-                    sb.append(suggestion);
-                    if (++i != seen.size()) sb.append(", ");
+                    StringBuilder sb = new StringBuilder();
+                    int i = 0;
+                    for (String suggestion : seen) {
+                        sb.append(suggestion);
+                        if (++i != seen.size()) sb.append(", ");
+                    }
+                    line = sb.toString();
+                    if (cache != null) cache.put(input, line);
                 }
-                System.out.println(sb);
+                System.out.println(line);
             }
 
             long end = System.nanoTime();
+            long allocated = allocatedBytes() - allocatedBefore;
             System.out.printf("Total time: %.2f ms\n", (end - start) / 1e6);
-            System.out.printf("Collision count: %d\n", dictionary.getCollisionCount()); 
-            dictionary.printMemoryUsage(); 
+            if (!correct) {
+                for (int i = 0; i < comparedCount; i++) {
+                    printEngineTime(comparedNames[i], compared[i], input);
+                }
+            }
+            if (allocatedBefore >= 0) {
+                System.out.printf("Allocated: %.1f KB, %d probes (%s engine)\n", allocated / 1024.0,
+                        engine.getProbeCount() - probesBefore, options.engine);
+            }
+            if (cache != null) cache.printStats();
+            dictionary.printStats();
         }
 
         scanner.close(); 
+        closeEngines(engine, compared, comparedCount);
     }
 
-    private static void generateEditDistance2(String word, GTUHashSet<String> dictionary, GTUHashSet<String> seen) {
-        int len = word.length();
-
-        for (int i = 0; i < len; i++) {
-            String del = word.substring(0, i) + word.substring(i + 1); // Deletion
-            if (!seen.contains(del) && dictionary.contains(del)) { 
-                seen.add(del); 
-            }
+    // Stops the worker threads of the parallel engine, which would otherwise keep running.
+    private static void closeEngines(SuggestionEngine engine, SuggestionEngine[] compared, int comparedCount) {
+        engine.close();
+        for (int i = 0; i < comparedCount; i++) {
+            compared[i].close();
         }
+    }
 
-        for (int i = 0; i <= len; i++) {
-            for (char c = 'a'; c <= 'z'; c++) {
-                String ins = word.substring(0, i) + c + word.substring(i); // Insertion
-                if (!seen.contains(ins) && dictionary.contains(ins)) { 
-                    seen.add(ins); 
-                }
-            }
+    // Checks a whole file; suggestions go to stdout through one buffered writer.
+    private static void runBatch(String path, Dictionary dictionary, SuggestionEngine engine, SuggestionCache cache,
+                                 int top) {
+        BatchChecker batch = new BatchChecker(dictionary, engine, MAX_DISTANCE, cache, top);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 64 * 1024);
+        try (Reader in = new BufferedReader(new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8))) {
+            batch.run(in, out);
+        } catch (IOException e) {
+            System.err.println(path + " cannot be checked: " + e.getMessage());
+            return;
         }
+        batch.printStats();
+    }
 
-        for (int i = 0; i < len; i++) {
-            for (char c = 'a'; c <= 'z'; c++) {
-                if (word.charAt(i) != c) { 
-                    String sub = word.substring(0, i) + c + word.substring(i + 1); // Substitution
-                    if (!seen.contains(sub) && dictionary.contains(sub)) { 
-                        seen.add(sub); 
-                    }
-                }
-            }
+    // Builds the named engine, reporting the build time of the ones that need an index.
+    private static SuggestionEngine createEngine(String name, Dictionary dictionary, Options options) {
+        long start = System.nanoTime();
+        switch (name) {
+            case "legacy":
+                return new LegacyGenerator(dictionary);
+            case "symspell":
+                SymSpellIndex index = new SymSpellIndex(dictionary, options.symSpellDistance);
+                System.out.printf("SymSpell index built in %.2f ms (%d deletes, %.2f MB)\n",
+                        (System.nanoTime() - start) / 1e6, index.getEntryCount(),
+                        index.getFootprint() / (1024.0 * 1024.0));
+                return index;
+            case "bktree":
+                BKTree tree = new BKTree(dictionary);
+                System.out.printf("BK-tree built in %.2f ms (%d words)\n", (System.nanoTime() - start) / 1e6, tree.size());
+                return tree;
+            case "trie":
+                if (dictionary instanceof TrieDictionary) return (TrieDictionary) dictionary;
+                TrieDictionary trie = new TrieDictionary(dictionary);
+                System.out.printf("DAWG built in %.2f ms (%d nodes, %d edges)\n", (System.nanoTime() - start) / 1e6,
+                        trie.getNodeCount(), trie.getEdgeCount());
+                return trie;
+            case "parallel":
+                return new ParallelCandidateGenerator(dictionary, options.threads, PARALLEL_MIN_LENGTH);
+            default:
+                return new CandidateGenerator(dictionary);
         }
     }
 
-    private static GTUArrayList<String> generateEditDistance1(String word, GTUHashSet<String> dictionary, GTUHashSet<String> seen) {
-        GTUArrayList<String> variants = new GTUArrayList<>();
-        int len = word.length();
+    // Answers the same input with another engine, so the latencies can be compared.
+    private static void printEngineTime(String name, SuggestionEngine engine, String input) {
+        GTUHashSet<String> found = new GTUHashSet<>(SEEN_EXPECTED_SIZE);
+        long probesBefore = engine.getProbeCount();
+        long start = System.nanoTime();
+        engine.collect(input, MAX_DISTANCE, found);
+        long end = System.nanoTime();
+        System.out.printf("%s time: %.3f ms (%d suggestions, %d probes)\n",
+                name, (end - start) / 1e6, found.size(), engine.getProbeCount() - probesBefore);
+    }
+
+    // Bytes allocated by this thread so far, or -1 when the JVM cannot tell.
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
 
-        // Deletion 
-        for (int i = 0; i < len; i++) {
-            String del = word.substring(0, i) + word.substring(i + 1); // Deletion
-            variants.add(del); 
-            if (dictionary.contains(del)) { 
-                seen.add(del); 
+    /**
+     * Maps the prebuilt image when -image names an existing file written from the current
+     * dictionary.txt. Otherwise builds the dictionary from dictionary.txt and, with -image,
+     * writes the image for the next start.
+     */
+    private static Dictionary loadDictionary(Options options) {
+        File source = new File("dictionary.txt");
+        if (options.imagePath != null && new File(options.imagePath).isFile()) {
+            try {
+                if (!MappedDictionary.isStale(options.imagePath, source)) {
+                    return MappedDictionary.open(options.imagePath);
+                }
+                System.out.println(options.imagePath + " does not match dictionary.txt, rebuilding it.");
+            } catch (IOException e) {
+                System.err.println(options.imagePath + " cannot be mapped: " + e.getMessage());
+                return null;
             }
+        }
 
-            for (char c = 'a'; c <= 'z'; c++) {
-                String ins = word.substring(0, i) + c + word.substring(i); // Insertion
-                variants.add(ins); 
-                if (dictionary.contains(ins)) { 
-                    seen.add(ins); 
+        // A line is a word, optionally followed by its frequency: "the 23135851162".
+        GTUArrayList<String> words = new GTUArrayList<>();
+        GTUHashMap<String, Long> frequencies = null;
+        try (BufferedReader reader = new BufferedReader(new FileReader(source))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String entry = line.trim().toLowerCase();
+                int space = 0;
+                while (space < entry.length() && !Character.isWhitespace(entry.charAt(space))) {
+                    space++;
                 }
-                if (word.charAt(i) != c) { 
-                    String sub = word.substring(0, i) + c + word.substring(i + 1); // Substitution
-                    variants.add(sub); 
-                    if (dictionary.contains(sub)) { 
-                        seen.add(sub); 
-                    }
+                String word = entry.substring(0, space);
+                words.add(word);
+
+                if (space < entry.length()) {
+                    if (frequencies == null) frequencies = new GTUHashMap<>();
+                    frequencies.put(word, Long.parseLong(entry.substring(space).trim()));
                 }
             }
+        } catch (NumberFormatException e) {
+            System.err.println("dictionary.txt has a bad frequency: " + e.getMessage());
+            return null;
+        } catch (IOException e) {
+            System.err.println("dictionary.txt cannot be read.");
+            return null;
         }
 
-        return variants;
+        if (options.dictionaryType.equals("trie")) {
+            TrieDictionary trie = new TrieDictionary(words);
+            System.out.printf("DAWG: %d nodes, %d edges, %.2f MB\n", trie.getNodeCount(), trie.getEdgeCount(),
+                    trie.getFootprint() / (1024.0 * 1024.0));
+            return trie;
+        }
+
+        GTUHashSet<String> set = new GTUHashSet<>(options.createMap());
+        set.addAll(words);
+        System.out.printf("Probe length (%s): max %d, mean %.3f\n", options.mapType,
+                set.getMaxProbeLength(), set.getMeanProbeLength());
+        if (options.bloomFalsePositiveRate > 0) {
+            set.enableBloomFilter(options.bloomFalsePositiveRate);
+            System.out.printf("Bloom filter: %.2f MB, %d hashes, target false-positive rate %.4f\n",
+                    set.getBloomFilter().getFootprint() / (1024.0 * 1024.0), set.getBloomFilter().getHashCount(),
+                    options.bloomFalsePositiveRate);
+        }
+        // Per-query lookup stats, unless a parallel engine's workers would race on the counters.
+        set.setStatsEnabled(!options.compare && !options.engine.equals("parallel"));
+
+        if (options.imagePath != null) {
+            try {
+                MappedDictionary.write(set, source, options.imagePath);
+                System.out.println("Dictionary image written to " + options.imagePath);
+            } catch (IOException e) {
+                System.err.println(options.imagePath + " cannot be written: " + e.getMessage());
+            }
+        }
+        return new HashSetDictionary(set, frequencies);
     }
 }
@@ -0,0 +1,204 @@
+package SpellChecker;
+
+import HashMap.GTUHashMap;
+
+/**
+ * Bounded cache of suggestion lines keyed by the normalized input word, with LRU or LFU
+ * eviction under both an entry and a byte budget.
+ *
+ * A GTUHashMap maps each key to a slot; the slots form one doubly linked list (in int
+ * arrays) whose head is the next victim. Under LRU the list is in access order. Under LFU
+ * it is sorted by use count, oldest first within a count, and a second GTUHashMap remembers
+ * the last slot of every count, so moving an entry up one count is O(1).
+ */
+public class SuggestionCache {
+
+    public enum Policy { LRU, LFU }
+
+    // Object headers, the String fields and the slot arrays; a rough constant per entry.
+    private static final int ENTRY_OVERHEAD = 96;
+    private static final int NONE = -1;
+
+    private final Policy policy;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    private final GTUHashMap<String, Integer> slots;
+    private final GTUHashMap<Integer, Integer> lastOfCount = new GTUHashMap<>(64);
+    private final String[] keys;
+    private final String[] values;
+    private final int[] counts;
+    private final int[] prev;
+    private final int[] next;
+    private int head = NONE;
+    private int tail = NONE;
+    private int freeSlot;
+    private int size;
+    private long bytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SuggestionCache(Policy policy, int maxEntries, long maxBytes) {
+        if (maxEntries < 1) throw new IllegalArgumentException("Entry budget must be positive: " + maxEntries);
+        if (maxBytes < 1) throw new IllegalArgumentException("Byte budget must be positive: " + maxBytes);
+        this.policy = policy;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+
+        slots = new GTUHashMap<>(maxEntries);
+        keys = new String[maxEntries];
+        values = new String[maxEntries];
+        counts = new int[maxEntries];
+        prev = new int[maxEntries];
+        next = new int[maxEntries];
+        // Unused slots are chained through next.
+        for (int i = 0; i < maxEntries; i++) {
+            next[i] = i + 1 < maxEntries ? i + 1 : NONE;
+        }
+    }
+
+    private static long sizeOf(String key, String value) {
+        return 2L * (key.length() + value.length()) + ENTRY_OVERHEAD;
+    }
+
+    // The cached line for key, or null; a hit counts as a use of the entry.
+    public String get(String key) {
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        touch(slot);
+        return values[slot];
+    }
+
+    public void put(String key, String value) {
+        long entryBytes = sizeOf(key, value);
+        Integer existing = slots.get(key);
+        if (existing != null) {
+            bytes += entryBytes - sizeOf(key, values[existing]);
+            values[existing] = value;
+            touch(existing);
+        } else {
+            // An entry larger than the whole budget is not worth evicting everything for.
+            if (entryBytes > maxBytes) return;
+            while (size == maxEntries || bytes + entryBytes > maxBytes) {
+                evict();
+            }
+            int slot = freeSlot;
+            freeSlot = next[slot];
+            keys[slot] = key;
+            values[slot] = value;
+            counts[slot] = 1;
+            slots.put(key, slot);
+            size++;
+            bytes += entryBytes;
+            insertNew(slot);
+        }
+        while (bytes > maxBytes && size > 1) {
+            evict();
+        }
+    }
+
+    private void insertNew(int slot) {
+        if (policy == Policy.LRU) {
+            linkAfter(slot, tail);
+            return;
+        }
+        // Count 1 is the lowest count, so new entries go right after the other count-1 entries.
+        Integer last = lastOfCount.get(1);
+        linkAfter(slot, last == null ? NONE : last);
+        lastOfCount.put(1, slot);
+    }
+
+    private void touch(int slot) {
+        if (policy == Policy.LRU) {
+            if (slot != tail) {
+                unlink(slot);
+                linkAfter(slot, tail);
+            }
+            return;
+        }
+
+        int count = counts[slot];
+        Integer lastOfNext = lastOfCount.get(count + 1);
+        int target = lastOfNext != null ? lastOfNext : lastOfCount.get(count);
+
+        // Leave the segment of the old count.
+        if (lastOfCount.get(count) == slot) {
+            if (prev[slot] != NONE && counts[prev[slot]] == count) {
+                lastOfCount.put(count, prev[slot]);
+            } else {
+                lastOfCount.remove(count);
+            }
+        }
+        if (target != slot) {
+            unlink(slot);
+            linkAfter(slot, target);
+        }
+        counts[slot] = count + 1;
+        lastOfCount.put(count + 1, slot);
+    }
+
+    private void evict() {
+        int victim = head;
+        if (policy == Policy.LFU && lastOfCount.get(counts[victim]) == victim) {
+            lastOfCount.remove(counts[victim]);
+        }
+        unlink(victim);
+        slots.remove(keys[victim]);
+        bytes -= sizeOf(keys[victim], values[victim]);
+        keys[victim] = null;
+        values[victim] = null;
+        next[victim] = freeSlot;
+        freeSlot = victim;
+        size--;
+        evictions++;
+    }
+
+    // Links slot after the given one, or at the head when after is NONE.
+    private void linkAfter(int slot, int after) {
+        int following = after == NONE ? head : next[after];
+        prev[slot] = after;
+        next[slot] = following;
+        if (after == NONE) head = slot; else next[after] = slot;
+        if (following == NONE) tail = slot; else prev[following] = slot;
+    }
+
+    private void unlink(int slot) {
+        if (prev[slot] == NONE) head = next[slot]; else next[prev[slot]] = next[slot];
+        if (next[slot] == NONE) tail = prev[slot]; else prev[next[slot]] = prev[slot];
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void printStats() {
+        System.out.printf("Suggestion cache (%s): %d hits, %d misses, %d evictions, %d/%d entries, %.1f/%.1f KB\n",
+                policy, hits, misses, evictions, size, maxEntries, bytes / 1024.0, maxBytes / 1024.0);
+    }
+}
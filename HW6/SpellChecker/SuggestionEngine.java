@@ -0,0 +1,30 @@
+package SpellChecker;
+
+import HashSet.GTUHashSet;
+
+/**
+ * Finds the dictionary words close to a misspelled word. SpellChecker picks one
+ * implementation at startup with -engine.
+ */
+public interface SuggestionEngine {
+
+    // Adds every dictionary word within maxDistance edits of word to found.
+    void collect(String word, int maxDistance, GTUHashSet<String> found);
+
+    /**
+     * Adds every dictionary word from 2 to maxDistance edits of word to found, given close,
+     * the words collect(word, 1, close) returned. Words of close may be added too. Engines
+     * that build distance 2 out of the distance-1 candidates skip the lookups close already
+     * answered; the default searches everything again.
+     */
+    default void collectBeyond(String word, GTUHashSet<String> close, int maxDistance, GTUHashSet<String> found) {
+        collect(word, maxDistance, found);
+    }
+
+    // Dictionary lookups, index lookups or distance computations made so far.
+    long getProbeCount();
+
+    // Releases the threads an engine may hold; the engine must not be used afterwards.
+    default void close() {
+    }
+}
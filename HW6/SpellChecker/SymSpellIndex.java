@@ -0,0 +1,179 @@
+package SpellChecker;
+
+import java.util.Arrays;
+import HashSet.GTUHashSet;
+
+/**
+ * Symmetric delete index: every dictionary word is stored under all of its delete-only
+ * variants up to maxDistance. Two words within maxDistance edits always share such a
+ * variant, so a lookup only generates the deletes of the input instead of every insertion
+ * and substitution, and verifies the few words it finds with a bounded edit distance.
+ *
+ * A variant is kept as (String.hashCode() of the variant, word index) packed into one long,
+ * and the longs are sorted so a lookup is a binary search. Hash collisions only cost an
+ * extra verification. Instances are not thread-safe.
+ */
+public class SymSpellIndex implements SuggestionEngine {
+
+    private final String[] words;
+    private final int maxDistance;
+    private long[] entries;
+    private int entryCount;
+
+    private final char[][] buffers;
+    private final EditDistance editDistance = new EditDistance();
+    // verifiedAt[w] == query when word w was already checked for the current lookup.
+    private final int[] verifiedAt;
+    private int query;
+    private long probeCount;
+
+    public SymSpellIndex(Dictionary dictionary, int maxDistance) {
+        if (maxDistance < 1) throw new IllegalArgumentException("Max distance must be positive: " + maxDistance);
+        this.maxDistance = maxDistance;
+        buffers = new char[maxDistance + 1][32];
+
+        words = new String[dictionary.size()];
+        entries = new long[Math.max(16, dictionary.size() * 8)];
+        int count = 0;
+        for (String word : dictionary) {
+            if (count == words.length) break;
+            words[count] = word;
+            char[] source = buffer(0, word.length());
+            word.getChars(0, word.length(), source, 0);
+            add(hash(source, word.length()), count);
+            indexDeletes(source, word.length(), 1, count);
+            count++;
+        }
+
+        Arrays.sort(entries, 0, entryCount);
+        entryCount = removeDuplicates();
+        entries = Arrays.copyOf(entries, entryCount);
+        verifiedAt = new int[count];
+    }
+
+    private char[] buffer(int depth, int length) {
+        if (buffers[depth].length < length) {
+            buffers[depth] = new char[Math.max(length, buffers[depth].length * 2)];
+        }
+        return buffers[depth];
+    }
+
+    private static int hash(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h;
+    }
+
+    private void indexDeletes(char[] source, int length, int depth, int word) {
+        char[] candidate = buffer(depth, length);
+        for (int i = 0; i < length; i++) {
+            System.arraycopy(source, 0, candidate, 0, i);
+            System.arraycopy(source, i + 1, candidate, i, length - i - 1);
+            add(hash(candidate, length - 1), word);
+            if (depth < maxDistance && length > 1) {
+                indexDeletes(candidate, length - 1, depth + 1, word);
+            }
+        }
+    }
+
+    private void add(int hash, int word) {
+        if (entryCount == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[entryCount++] = ((long) hash << 32) | word;
+    }
+
+    // The same variant is reached through several delete orders; keep it once per word.
+    private int removeDuplicates() {
+        if (entryCount == 0) return 0;
+        int kept = 1;
+        for (int i = 1; i < entryCount; i++) {
+            if (entries[i] != entries[kept - 1]) {
+                entries[kept++] = entries[i];
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Adds every dictionary word within maxDistance (at most the distance the index was
+     * built for) Levenshtein edits of word to found, except word itself.
+     */
+    @Override
+    public void collect(String word, int maxDistance, GTUHashSet<String> found) {
+        int distance = Math.min(maxDistance, this.maxDistance);
+        if (++query == 0) {
+            Arrays.fill(verifiedAt, 0);
+            query = 1;
+        }
+
+        char[] source = buffer(0, word.length());
+        word.getChars(0, word.length(), source, 0);
+        lookup(hash(source, word.length()), word, distance, found);
+        lookupDeletes(source, word.length(), 1, word, distance, found);
+    }
+
+    private void lookupDeletes(char[] source, int length, int depth, String word, int distance, GTUHashSet<String> found) {
+        char[] candidate = buffer(depth, length);
+        for (int i = 0; i < length; i++) {
+            System.arraycopy(source, 0, candidate, 0, i);
+            System.arraycopy(source, i + 1, candidate, i, length - i - 1);
+            lookup(hash(candidate, length - 1), word, distance, found);
+            if (depth < distance && length > 1) {
+                lookupDeletes(candidate, length - 1, depth + 1, word, distance, found);
+            }
+        }
+    }
+
+    private void lookup(int hash, String word, int distance, GTUHashSet<String> found) {
+        probeCount++;
+        for (int i = firstEntry(hash); i < entryCount && (int) (entries[i] >> 32) == hash; i++) {
+            int index = (int) entries[i];
+            if (verifiedAt[index] == query) continue;
+            verifiedAt[index] = query;
+
+            String candidate = words[index];
+            int d = editDistance.levenshtein(word, candidate, distance);
+            if (d > 0 && d <= distance) {
+                found.add(candidate);
+            }
+        }
+    }
+
+    // Index of the first entry whose variant hash is >= hash.
+    private int firstEntry(int hash) {
+        long key = (long) hash << 32;
+        int lo = 0;
+        int hi = entryCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    // Number of index lookups (one per generated delete) made so far.
+    @Override
+    public long getProbeCount() {
+        return probeCount;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    // Bytes held by the entry array and the word table, excluding the words themselves.
+    public long getFootprint() {
+        return (long) entryCount * 8 + (long) words.length * 4 + (long) verifiedAt.length * 4;
+    }
+}
@@ -0,0 +1,75 @@
+package SpellChecker;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a character stream into words without regular expressions or per-token Strings.
+ * A token is a maximal run of letters and digits, lower-cased into a reusable buffer; any
+ * other char (space, punctuation, apostrophe) ends it.
+ */
+public class Tokenizer {
+
+    private final Reader reader;
+    private final char[] input = new char[64 * 1024];
+    private int position;
+    private int limit;
+
+    private char[] token = new char[32];
+    private int length;
+    private boolean hasDigit;
+
+    public Tokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Moves to the next token; false at the end of the stream.
+    public boolean next() throws IOException {
+        length = 0;
+        hasDigit = false;
+
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(input, 0, input.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return length > 0;
+                }
+            }
+
+            char c = input[position++];
+            if (Character.isLetterOrDigit(c)) {
+                if (length == token.length) {
+                    char[] grown = new char[length * 2];
+                    System.arraycopy(token, 0, grown, 0, length);
+                    token = grown;
+                }
+                if (Character.isDigit(c)) hasDigit = true;
+                token[length++] = Character.toLowerCase(c);
+            } else if (length > 0) {
+                return true;
+            }
+        }
+    }
+
+    // Chars of the current token; only the first length() are valid, and only until next().
+    public char[] chars() {
+        return token;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean hasDigit() {
+        return hasDigit;
+    }
+
+    public static boolean containsDigit(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isDigit(word.charAt(i))) return true;
+        }
+        return false;
+    }
+}
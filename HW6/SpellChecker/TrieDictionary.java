@@ -0,0 +1,353 @@
+package SpellChecker;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import HashMap.GTUHashMap;
+import HashSet.GTUHashSet;
+
+/**
+ * Dictionary stored as a minimal DAWG: a trie in which identical suffix subtrees are
+ * merged, held in a handful of primitive arrays instead of one String per word.
+ *
+ * Node n owns the edges [edgeStart[n], edgeStart[n + 1]), sorted by label, so contains()
+ * is one binary search per char. collect() walks the graph once with a Levenshtein row per
+ * depth and cuts every branch whose row minimum exceeds the distance, so no candidate
+ * strings are generated; a String is only created for a word that is found.
+ *
+ * Instances are read-only once built; collect() is not thread-safe.
+ */
+public class TrieDictionary implements Dictionary, SuggestionEngine {
+
+    private final int[] edgeStart;
+    private final char[] labels;
+    private final int[] targets;
+    private final boolean[] terminal;
+    private final int root;
+    private final int size;
+
+    private int[][] rows = new int[32][];
+    private char[] path = new char[32];
+    private long probeCount;
+
+    public TrieDictionary(Iterable<String> words) {
+        Builder builder = new Builder();
+        int count = 0;
+        for (String word : words) {
+            if (builder.insert(word)) count++;
+        }
+        size = count;
+
+        builder.minimize();
+        edgeStart = Arrays.copyOf(builder.edgeStart, builder.nodeCount + 1);
+        labels = Arrays.copyOf(builder.outLabels, builder.edgeCount);
+        targets = Arrays.copyOf(builder.outTargets, builder.edgeCount);
+        terminal = Arrays.copyOf(builder.outTerminal, builder.nodeCount);
+        root = builder.nodeCount - 1;
+    }
+
+    /**
+     * Builds a plain trie first and then merges equal subtrees bottom-up. A child is always
+     * created after its parent, so visiting the trie nodes from the last to the first sees
+     * every child before its parent.
+     */
+    private static final class Builder {
+        // The trie: children of a node form a sibling list in insertion order.
+        char[] label = new char[1024];
+        int[] firstChild = new int[1024];
+        int[] nextSibling = new int[1024];
+        boolean[] isWord = new boolean[1024];
+        int trieSize;
+
+        // The minimized graph, in the layout TrieDictionary keeps.
+        int[] edgeStart;
+        char[] outLabels;
+        int[] outTargets;
+        boolean[] outTerminal;
+        int nodeCount;
+        int edgeCount;
+
+        Builder() {
+            newNode('\0');
+        }
+
+        private int newNode(char c) {
+            if (trieSize == label.length) {
+                int capacity = trieSize * 2;
+                label = Arrays.copyOf(label, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                isWord = Arrays.copyOf(isWord, capacity);
+            }
+            label[trieSize] = c;
+            firstChild[trieSize] = -1;
+            nextSibling[trieSize] = -1;
+            return trieSize++;
+        }
+
+        // Returns false when the word was already there.
+        boolean insert(String word) {
+            int node = 0;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                int child = firstChild[node];
+                while (child >= 0 && label[child] != c) {
+                    child = nextSibling[child];
+                }
+                if (child < 0) {
+                    child = newNode(c);
+                    nextSibling[child] = firstChild[node];
+                    firstChild[node] = child;
+                }
+                node = child;
+            }
+            if (isWord[node]) return false;
+            isWord[node] = true;
+            return true;
+        }
+
+        void minimize() {
+            int[] canonical = new int[trieSize];
+            GTUHashMap<String, Integer> register = new GTUHashMap<>(trieSize / 2);
+            edgeStart = new int[trieSize + 1];
+            outLabels = new char[trieSize];
+            outTargets = new int[trieSize];
+            outTerminal = new boolean[trieSize];
+
+            int[] children = new int[32];
+            StringBuilder signature = new StringBuilder();
+
+            for (int node = trieSize - 1; node >= 0; node--) {
+                int count = 0;
+                for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                    if (count == children.length) children = Arrays.copyOf(children, count * 2);
+                    children[count++] = child;
+                }
+                sortByLabel(children, count);
+
+                // Two nodes are equal when they agree on finality and on every (label, target) edge.
+                signature.setLength(0);
+                signature.append(isWord[node] ? '1' : '0');
+                for (int i = 0; i < count; i++) {
+                    int target = canonical[children[i]];
+                    signature.append(label[children[i]]).append((char) (target >>> 16)).append((char) target);
+                }
+
+                String key = signature.toString();
+                Integer existing = register.get(key);
+                if (existing != null && node != 0) {
+                    canonical[node] = existing;
+                    continue;
+                }
+
+                int id = nodeCount++;
+                outTerminal[id] = isWord[node];
+                edgeStart[id] = edgeCount;
+                for (int i = 0; i < count; i++) {
+                    outLabels[edgeCount] = label[children[i]];
+                    outTargets[edgeCount] = canonical[children[i]];
+                    edgeCount++;
+                }
+                edgeStart[id + 1] = edgeCount;
+                canonical[node] = id;
+                if (existing == null) register.put(key, id);
+            }
+        }
+
+        // Insertion sort: nodes have at most an alphabet's worth of children.
+        private void sortByLabel(int[] children, int count) {
+            for (int i = 1; i < count; i++) {
+                int child = children[i];
+                int j = i - 1;
+                while (j >= 0 && label[children[j]] > label[child]) {
+                    children[j + 1] = children[j];
+                    j--;
+                }
+                children[j + 1] = child;
+            }
+        }
+    }
+
+    // Target of the edge labelled c leaving node, or -1.
+    private int step(int node, char c) {
+        int lo = edgeStart[node];
+        int hi = edgeStart[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (labels[mid] < c) {
+                lo = mid + 1;
+            } else if (labels[mid] > c) {
+                hi = mid - 1;
+            } else {
+                return targets[mid];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(String word) {
+        int node = root;
+        for (int i = 0; i < word.length() && node >= 0; i++) {
+            node = step(node, word.charAt(i));
+        }
+        return node >= 0 && terminal[node];
+    }
+
+    @Override
+    public boolean contains(char[] chars, int length) {
+        int node = root;
+        for (int i = 0; i < length && node >= 0; i++) {
+            node = step(node, chars[i]);
+        }
+        return node >= 0 && terminal[node];
+    }
+
+    /**
+     * Adds every word within maxDistance Levenshtein edits of word to found, except word
+     * itself, in a single depth-first walk of the graph.
+     */
+    @Override
+    public void collect(String word, int maxDistance, GTUHashSet<String> found) {
+        int n = word.length();
+        int[] first = row(0, n + 1);
+        for (int j = 0; j <= n; j++) {
+            first[j] = j;
+        }
+        walk(root, 0, word, maxDistance, found);
+    }
+
+    private void walk(int node, int depth, String word, int maxDistance, GTUHashSet<String> found) {
+        int n = word.length();
+        int[] previous = rows[depth];
+        int[] current = row(depth + 1, n + 1);
+        if (path.length <= depth) path = Arrays.copyOf(path, path.length * 2);
+
+        for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+            char c = labels[e];
+            path[depth] = c;
+            probeCount++;
+
+            current[0] = previous[0] + 1;
+            int rowMin = current[0];
+            for (int j = 1; j <= n; j++) {
+                int cost = word.charAt(j - 1) == c ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                current[j] = value;
+                if (value < rowMin) rowMin = value;
+            }
+
+            int target = targets[e];
+            int distance = current[n];
+            if (terminal[target] && distance > 0 && distance <= maxDistance
+                    && !found.containsChars(path, depth + 1)) {
+                found.add(new String(path, 0, depth + 1));
+            }
+            if (rowMin <= maxDistance) {
+                walk(target, depth + 1, word, maxDistance, found);
+            }
+        }
+    }
+
+    private int[] row(int depth, int length) {
+        if (depth >= rows.length) rows = Arrays.copyOf(rows, rows.length * 2);
+        if (rows[depth] == null || rows[depth].length < length) {
+            rows[depth] = new int[Math.max(length, 16)];
+        }
+        return rows[depth];
+    }
+
+    // Number of graph edges the Levenshtein walks have expanded so far.
+    @Override
+    public long getProbeCount() {
+        return probeCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getNodeCount() {
+        return terminal.length;
+    }
+
+    public int getEdgeCount() {
+        return labels.length;
+    }
+
+    // Bytes held by the graph arrays.
+    public long getFootprint() {
+        return (long) edgeStart.length * 4 + (long) labels.length * 2 + (long) targets.length * 4 + terminal.length;
+    }
+
+    // Depth-first walk of the graph; words come out in sorted order.
+    public class MyIterator implements Iterator<String> {
+        private int[] nodes = new int[32];
+        private int[] edges = new int[32];
+        private char[] chars = new char[32];
+        private int depth = 0;
+        private String next;
+
+        MyIterator() {
+            nodes[0] = root;
+            edges[0] = edgeStart[root];
+            if (terminal[root]) {
+                next = "";
+            } else {
+                advance();
+            }
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                int node = nodes[depth];
+                if (edges[depth] == edgeStart[node + 1]) {
+                    depth--;
+                    continue;
+                }
+
+                int e = edges[depth]++;
+                if (depth + 1 == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                    edges = Arrays.copyOf(edges, edges.length * 2);
+                    chars = Arrays.copyOf(chars, chars.length * 2);
+                }
+                chars[depth] = labels[e];
+                int target = targets[e];
+                depth++;
+                nodes[depth] = target;
+                edges[depth] = edgeStart[target];
+                if (terminal[target]) {
+                    next = new String(chars, 0, depth);
+                    return;
+                }
+            }
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public String next() {
+            if (next == null) throw new NoSuchElementException();
+            String word = next;
+            advance();
+            return word;
+        }
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new MyIterator();
+    }
+
+    @Override
+    public void printStats() {
+        long usedMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        System.out.printf("Total memory used: %.2f MB\n", usedMemory / (1024.0 * 1024.0));
+        System.out.printf("DAWG: %.2f MB (%d words, %d nodes, %d edges)\n",
+                getFootprint() / (1024.0 * 1024.0), size, getNodeCount(), getEdgeCount());
+    }
+}